@@ -30,7 +30,7 @@ import java.util.HashMap;
 public class BitmapProvider {
     /**
      * The bitmap provider that provides bitmaps to every part of the game that requires
-     * them, namely Tile (for the map and section images), CarcassonneHumanPlayer (for
+     * them, namely Tile (for the map images), CarcassonneHumanPlayer (for
      * the current tile image) and BoardSurfaceView (for the tile images, tile borders,
      * and meeple images).
      *
@@ -74,28 +74,27 @@ public class BitmapProvider {
     }
 
     /**
-     * Holds the three bitmaps relevant for each tile, namely the meeple placement map
-     * bitmap, the section connection and meeple position bitmap, and the visual bitmap
-     * that the user sees. Similarly to BitmapData, the variables may not be modified.
+     * Holds the two bitmaps relevant for each tile, namely the meeple placement map
+     * bitmap and the visual bitmap that the user sees. Similarly to BitmapData, the
+     * variables may not be modified.
+     *
+     * The section connection and meeple position images are not loaded here: they are
+     * compiled into the tile specification at build time and loaded by TileDefinition.
      */
     public class TileBitmapData {
         /** The meeple placement collision map bitmap. */
         public final BitmapData map;
-        /** The section connection and meeple position bitmap. */
-        public final BitmapData section;
         /** The visual bitmap that the user sees. */
         public final BitmapData visual;
 
         /**
          * Creates a new TileBitmapData, loading each bitmap from its proper resource.
          *
-         * @param mapRes     The resource of the map bitmap.
-         * @param sectionRes The resource of the section bitmap.
-         * @param visualRes  The resource of the visual bitmap.
+         * @param mapRes    The resource of the map bitmap.
+         * @param visualRes The resource of the visual bitmap.
          */
-        private TileBitmapData(int mapRes, int sectionRes, int visualRes) {
+        private TileBitmapData(int mapRes, int visualRes) {
             this.map = new BitmapData(mapRes);
-            this.section = new BitmapData(sectionRes);
             this.visual = new BitmapData(visualRes);
         }
     }
@@ -158,30 +157,30 @@ public class BitmapProvider {
         // this than hardcoding all the IDs.
         this.tiles = new HashMap<>();
 
-        this.tiles.put('A', new TileBitmapData(R.drawable.map_a, R.drawable.section_a, R.drawable.tile_a));
-        this.tiles.put('B', new TileBitmapData(R.drawable.map_b, R.drawable.section_b, R.drawable.tile_b));
-        this.tiles.put('C', new TileBitmapData(R.drawable.map_c, R.drawable.section_c, R.drawable.tile_c));
-        this.tiles.put('D', new TileBitmapData(R.drawable.map_d, R.drawable.section_d, R.drawable.tile_d));
-        this.tiles.put('E', new TileBitmapData(R.drawable.map_e, R.drawable.section_e, R.drawable.tile_e));
-        this.tiles.put('F', new TileBitmapData(R.drawable.map_f, R.drawable.section_f, R.drawable.tile_f));
-        this.tiles.put('G', new TileBitmapData(R.drawable.map_g, R.drawable.section_g, R.drawable.tile_g));
-        this.tiles.put('H', new TileBitmapData(R.drawable.map_h, R.drawable.section_h, R.drawable.tile_h));
-        this.tiles.put('I', new TileBitmapData(R.drawable.map_i, R.drawable.section_i, R.drawable.tile_i));
-        this.tiles.put('J', new TileBitmapData(R.drawable.map_j, R.drawable.section_j, R.drawable.tile_j));
-        this.tiles.put('K', new TileBitmapData(R.drawable.map_k, R.drawable.section_k, R.drawable.tile_k));
-        this.tiles.put('L', new TileBitmapData(R.drawable.map_l, R.drawable.section_l, R.drawable.tile_l));
-        this.tiles.put('M', new TileBitmapData(R.drawable.map_m, R.drawable.section_m, R.drawable.tile_m));
-        this.tiles.put('N', new TileBitmapData(R.drawable.map_n, R.drawable.section_n, R.drawable.tile_n));
-        this.tiles.put('O', new TileBitmapData(R.drawable.map_o, R.drawable.section_o, R.drawable.tile_o));
-        this.tiles.put('P', new TileBitmapData(R.drawable.map_p, R.drawable.section_p, R.drawable.tile_p));
-        this.tiles.put('Q', new TileBitmapData(R.drawable.map_q, R.drawable.section_q, R.drawable.tile_q));
-        this.tiles.put('R', new TileBitmapData(R.drawable.map_r, R.drawable.section_r, R.drawable.tile_r));
-        this.tiles.put('S', new TileBitmapData(R.drawable.map_s, R.drawable.section_s, R.drawable.tile_s));
-        this.tiles.put('T', new TileBitmapData(R.drawable.map_t, R.drawable.section_t, R.drawable.tile_t));
-        this.tiles.put('U', new TileBitmapData(R.drawable.map_u, R.drawable.section_u, R.drawable.tile_u));
-        this.tiles.put('V', new TileBitmapData(R.drawable.map_v, R.drawable.section_v, R.drawable.tile_v));
-        this.tiles.put('W', new TileBitmapData(R.drawable.map_w, R.drawable.section_w, R.drawable.tile_w));
-        this.tiles.put('X', new TileBitmapData(R.drawable.map_x, R.drawable.section_x, R.drawable.tile_x));
+        this.tiles.put('A', new TileBitmapData(R.drawable.map_a, R.drawable.tile_a));
+        this.tiles.put('B', new TileBitmapData(R.drawable.map_b, R.drawable.tile_b));
+        this.tiles.put('C', new TileBitmapData(R.drawable.map_c, R.drawable.tile_c));
+        this.tiles.put('D', new TileBitmapData(R.drawable.map_d, R.drawable.tile_d));
+        this.tiles.put('E', new TileBitmapData(R.drawable.map_e, R.drawable.tile_e));
+        this.tiles.put('F', new TileBitmapData(R.drawable.map_f, R.drawable.tile_f));
+        this.tiles.put('G', new TileBitmapData(R.drawable.map_g, R.drawable.tile_g));
+        this.tiles.put('H', new TileBitmapData(R.drawable.map_h, R.drawable.tile_h));
+        this.tiles.put('I', new TileBitmapData(R.drawable.map_i, R.drawable.tile_i));
+        this.tiles.put('J', new TileBitmapData(R.drawable.map_j, R.drawable.tile_j));
+        this.tiles.put('K', new TileBitmapData(R.drawable.map_k, R.drawable.tile_k));
+        this.tiles.put('L', new TileBitmapData(R.drawable.map_l, R.drawable.tile_l));
+        this.tiles.put('M', new TileBitmapData(R.drawable.map_m, R.drawable.tile_m));
+        this.tiles.put('N', new TileBitmapData(R.drawable.map_n, R.drawable.tile_n));
+        this.tiles.put('O', new TileBitmapData(R.drawable.map_o, R.drawable.tile_o));
+        this.tiles.put('P', new TileBitmapData(R.drawable.map_p, R.drawable.tile_p));
+        this.tiles.put('Q', new TileBitmapData(R.drawable.map_q, R.drawable.tile_q));
+        this.tiles.put('R', new TileBitmapData(R.drawable.map_r, R.drawable.tile_r));
+        this.tiles.put('S', new TileBitmapData(R.drawable.map_s, R.drawable.tile_s));
+        this.tiles.put('T', new TileBitmapData(R.drawable.map_t, R.drawable.tile_t));
+        this.tiles.put('U', new TileBitmapData(R.drawable.map_u, R.drawable.tile_u));
+        this.tiles.put('V', new TileBitmapData(R.drawable.map_v, R.drawable.tile_v));
+        this.tiles.put('W', new TileBitmapData(R.drawable.map_w, R.drawable.tile_w));
+        this.tiles.put('X', new TileBitmapData(R.drawable.map_x, R.drawable.tile_x));
 
         // Fill out other standalone bitmaps.
         this.emptyTile = new BitmapData(R.drawable.tile_empty);
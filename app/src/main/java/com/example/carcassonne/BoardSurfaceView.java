@@ -129,20 +129,18 @@ public class BoardSurfaceView extends SurfaceView {
                 float posX = x + this.scrollX;
                 float posY = y + this.scrollY;
 
-                // Return the position the player tapped at if it's in bounds. Also ensure
-                // that the position is non-negative since floor division will round -1 to
-                // 0 and register it as a valid position, which is wrong.
-                if (!this.moved && posX >= 0 && posY >= 0) {
-                    // Convert from screen coordinates to tile positions.
+                // Return the position the player tapped at if it's in bounds.
+                if (!this.moved) {
+                    // Convert from screen coordinates to tile positions. Board positions
+                    // may be negative, so round down rather than towards zero.
                     point = new Point(
-                            (int)(posX / tileSize),
-                            (int)(posY / tileSize)
+                            (int)Math.floor(posX / tileSize),
+                            (int)Math.floor(posY / tileSize)
                     );
 
                     // Ensure the position just calculated is in bounds for the board; otherwise,
                     // still return null.
-                    if (point.x < 0 || point.x >= this.board.getWidth() ||
-                            point.y < 0 || point.y >= this.board.getHeight()) {
+                    if (this.board.isOutOfBounds(point.x, point.y)) {
                         point = null;
                     }
                 }
@@ -223,8 +221,8 @@ public class BoardSurfaceView extends SurfaceView {
 
                 // Perform bounds clipping: if we've scrolled more than half the screen
                 // away from the edge of the board, snap it back to the edge.
-                float leftEdge = -(float)getWidth() / 2;
-                float topEdge = -(float)getHeight() / 2;
+                float leftEdge = board.getMinX() * tileSize - (float)getWidth() / 2;
+                float topEdge = board.getMinY() * tileSize - (float)getHeight() / 2;
 
                 float rightEdge = board.getWidth() * tileSize + leftEdge;
                 float bottomEdge = board.getHeight() * tileSize + topEdge;
@@ -290,9 +288,12 @@ public class BoardSurfaceView extends SurfaceView {
         int outsideX = (int)Math.ceil(getWidth() / 2.0 / tileSize);
         int outsideY = (int)Math.ceil(getHeight() / 2.0 / tileSize);
 
+        int minX = this.board.getMinX();
+        int minY = this.board.getMinY();
+
         // Draw all the tiles on the board, including outside tiles.
-        for (int x = -outsideX; x < this.board.getWidth() + outsideX; x++) {
-            for (int y = -outsideY; y < this.board.getHeight() + outsideY; y++) {
+        for (int x = minX - outsideX; x < minX + this.board.getWidth() + outsideX; x++) {
+            for (int y = minY - outsideY; y < minY + this.board.getHeight() + outsideY; y++) {
                 Tile tile = this.board.getTile(x, y);
                 boolean outside = this.board.isOutOfBounds(x, y);
 
@@ -349,7 +350,7 @@ public class BoardSurfaceView extends SurfaceView {
         // If the current tile has been placed on the board, draw the valid/invalid
         // border around it.
         Tile currentTile = this.board.getCurrentTile();
-        if (currentTile != null && currentTile.getX() != -1) {
+        if (currentTile != null && currentTile.hasPosition()) {
             Bitmap border = this.board.isCurrentPlacementValid() ?
                     bitmapProvider.getValidBorder().bitmap :
                     bitmapProvider.getInvalidBorder().bitmap;
@@ -363,8 +364,8 @@ public class BoardSurfaceView extends SurfaceView {
         }
 
         // Draw all the meeples _after_ the tiles so tiles never overlap meeples.
-        for (int x = 0; x < this.board.getWidth(); x++) {
-            for (int y = 0; y < this.board.getHeight(); y++) {
+        for (int x = minX; x < minX + this.board.getWidth(); x++) {
+            for (int y = minY; y < minY + this.board.getHeight(); y++) {
                 Tile tile = this.board.getTile(x, y);
                 if (tile == null) {
                     continue;
@@ -1,7 +1,7 @@
 package com.example.carcassonne;
 
+import com.example.carcassonne.actionMsg.ResyncAction;
 import com.example.carcassonne.infoMsg.GameInfo;
-import java.util.ArrayList;
 
 /**
  * Represents the Carcassonne AI computer player and contains all the logic for it to
@@ -16,9 +16,13 @@ import java.util.ArrayList;
 public class CarcassonneComputerPlayer extends GameComputerPlayer {
     /**
      * The position and rotation of the tile that the AI has chosen to place its
-     * tile for this move.
+     * tile for this move, and the index of the section to put its meeple on, packed
+     * as a MoveList move.
      */
-    private Board.TilePlacement chosenPlacement;
+    private long chosenMove;
+
+    /** The list of valid moves, reused every turn to avoid allocating. */
+    private MoveList moves;
 
     /**
      * It is impossible to send multiple actions in the same receiveInfo() because
@@ -46,6 +50,15 @@ public class CarcassonneComputerPlayer extends GameComputerPlayer {
     /** Defines whether this is the smart AI or the dumb AI. */
     private boolean isSmart;
 
+    /**
+     * The generator for the AI's random choices. It is created from the first game
+     * state received, so that the AI's choices are reproducible from the game's seed.
+     */
+    private Rng random;
+
+    /** Our copy of the game state, which is kept up to date from the game's messages. */
+    private CarcassonneReplica replica;
+
     /**
      * Creates a new computer player with the specified name and smartness.
      *
@@ -56,6 +69,8 @@ public class CarcassonneComputerPlayer extends GameComputerPlayer {
         super(name);
         this.nextAction = CHOOSE_AND_ROTATE_TILE;
         this.isSmart = isSmart;
+        this.moves = new MoveList();
+        this.replica = new CarcassonneReplica();
     }
 
     /**
@@ -68,18 +83,26 @@ public class CarcassonneComputerPlayer extends GameComputerPlayer {
      */
     @Override
     protected void receiveInfo(GameInfo info) {
-        if (!(info instanceof CarcassonneGameState)) {
-            // Do nothing if we don't receive a game state.
+        if (!this.replica.update(info)) {
+            // Do nothing if we don't receive a game state, seed, or events, but ask for
+            // the whole game state once if our copy of it is out of sync.
+            if (this.replica.requestResync()) {
+                this.game.sendAction(new ResyncAction(this));
+            }
             return;
         }
 
-        CarcassonneGameState gameState = (CarcassonneGameState)info;
+        CarcassonneGameState gameState = this.replica.getGameState();
 
         if (gameState.isGameOver() || gameState.getCurrentPlayer() != this.playerNum) {
             // Do nothing if it's not our turn or the game is over.
             return;
         }
 
+        if (this.random == null) {
+            this.random = gameState.createPlayerRandom(this.playerNum);
+        }
+
         // Perform each action that needs to be sent sequentially in each call.
         switch (this.nextAction) {
             case CHOOSE_AND_ROTATE_TILE:
@@ -88,7 +111,7 @@ public class CarcassonneComputerPlayer extends GameComputerPlayer {
 
                 // Get a list of valid positions that we can place our tiles at.
                 Board board = gameState.getBoard();
-                ArrayList<Board.TilePlacement> placements = new ArrayList<>();
+                this.moves.clear();
 
                 /* If we're smart and have enough meeples, place a meeple at random at
                  * approximately even intervals throughout the game.
@@ -103,36 +126,36 @@ public class CarcassonneComputerPlayer extends GameComputerPlayer {
                     double numTurns = (double)Deck.NUM_TILES / gameState.getNumPlayers();
                     double probMeeple = (double)CarcassonneGameState.NUM_MEEPLES / numTurns;
 
-                    if (Math.random() <= probMeeple) {
-                        placements = board.getValidMeeplePlacements();
+                    if (this.random.nextDouble() <= probMeeple) {
+                        board.getValidMeeplePlacements(this.moves);
                     }
                 }
 
                 // If we're dumb or there are no valid meeple placements or we decided not
                 // to place a meeple, just choose a normal tile to place at.
-                if (placements.size() == 0) {
-                    placements = board.getValidTilePlacements();
+                if (this.moves.isEmpty()) {
+                    board.getValidTilePlacements(this.moves);
                 }
 
                 // Now choose our placement at random, regardless of whether there are meeples
                 // on the tile or not.
-                this.chosenPlacement = placements.get((int)(Math.random() * placements.size()));
+                this.chosenMove = this.moves.get(this.random.nextInt(this.moves.size()));
 
                 // Commence sending actions one after another, starting with rotation.
                 this.game.sendAction(new CarcassonneRotateTileAction(this,
-                        this.chosenPlacement.rotation));
+                        MoveList.getRotation(this.chosenMove)));
                 this.nextAction = PLACE_TILE;
                 break;
             case PLACE_TILE:
                 this.game.sendAction(new CarcassonnePlaceTileAction(this,
-                        this.chosenPlacement.x, this.chosenPlacement.y));
+                        MoveList.getX(this.chosenMove), MoveList.getY(this.chosenMove)));
                 this.nextAction = CONFIRM_TILE;
                 break;
             case CONFIRM_TILE:
                 // Sleep again to make it look like we're thinking about the move.
                 sleep(500);
 
-                if (this.chosenPlacement.meepleSection != null) {
+                if (hasChosenMeeple()) {
                     // If we're placing a meeple, sleep a little while longer for
                     // choosing the meeple position.
                     sleep(500);
@@ -144,12 +167,16 @@ public class CarcassonneComputerPlayer extends GameComputerPlayer {
             case PLACE_MEEPLE:
                 // Send the meeple even if it's null so we get another game state, which will
                 // trigger the next action.
-                this.game.sendAction(new CarcassonnePlaceMeepleAction(this,
-                        this.chosenPlacement.meepleSection));
+                Section meepleSection = hasChosenMeeple() ?
+                        gameState.getBoard().getCurrentTile().getSectionFromIndex(
+                                MoveList.getSectionIndex(this.chosenMove)) :
+                        null;
+
+                this.game.sendAction(new CarcassonnePlaceMeepleAction(this, meepleSection));
                 this.nextAction = CONFIRM_MEEPLE;
                 break;
             case CONFIRM_MEEPLE:
-                if (this.chosenPlacement.meepleSection != null) {
+                if (hasChosenMeeple()) {
                     // If we placed a meeple, sleep again so we look like we're contemplating
                     // whether this meeple placement is a good idea or not.
                     sleep(500);
@@ -163,4 +190,13 @@ public class CarcassonneComputerPlayer extends GameComputerPlayer {
                 break;
         }
     }
+
+    /**
+     * Queries whether the chosen move includes placing a meeple.
+     *
+     * @return True if the AI is placing a meeple this turn, false otherwise.
+     */
+    private boolean hasChosenMeeple() {
+        return MoveList.getSectionIndex(this.chosenMove) != MoveList.NO_SECTION;
+    }
 }
@@ -0,0 +1,67 @@
+package com.example.carcassonne;
+
+import com.example.carcassonne.infoMsg.GameInfo;
+
+/**
+ * The game framework message that carries the events of a single action from the
+ * local game to a player, which the player applies to its own copy of the game state
+ * (see GameEvent). A player that has the game state from just before the action ends
+ * up with the game state from just after it, without the whole game state having to
+ * be copied or sent over the network.
+ *
+ * The same message is sent to every player, so it must not be modified by whoever
+ * receives it.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class CarcassonneEventInfo extends GameInfo {
+    /** The events caused by the action, in the order they happened. */
+    private final GameEvent[] events;
+
+    /** The version of the game state after the events, as in CarcassonneGameInfo. */
+    private final long version;
+
+    /**
+     * Creates a new message carrying the events of an action.
+     *
+     * @param events  The events caused by the action.
+     * @param version The version of the game state after the events.
+     */
+    public CarcassonneEventInfo(GameEvent[] events, long version) {
+        this.events = events;
+        this.version = version;
+    }
+
+    /**
+     * Queries the number of events in this message.
+     *
+     * @return The number of events.
+     */
+    public int getNumEvents() {
+        return this.events.length;
+    }
+
+    /**
+     * Gets one of the events in this message.
+     *
+     * @param index The index of the event, in the order they happened.
+     * @return The event.
+     */
+    public GameEvent getEvent(int index) {
+        return this.events[index];
+    }
+
+    /**
+     * Queries the version of the game state after the events in this message. They
+     * can only be applied to the game state with the version just before it.
+     *
+     * @return The version of the game state after the events.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.carcassonne;
+
+import com.example.carcassonne.infoMsg.GameState;
+
+/**
+ * The game framework message that carries a Carcassonne game state from the local
+ * game to a player. The game state itself lives in the engine module, which knows
+ * nothing about the game framework, so it is wrapped in this class to be sent.
+ *
+ * Each message is an immutable snapshot of the master game state published by the
+ * local game after an action, and the same message is sent to every player, so
+ * neither the message nor its game state may be modified by whoever receives it.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class CarcassonneGameInfo extends GameState {
+    /** The game state that this message carries. */
+    private final CarcassonneGameState gameState;
+
+    /**
+     * The version of the game state, which goes up by one with every action that
+     * changes the master game state.
+     */
+    private final long version;
+
+    /**
+     * Creates a new message carrying the specified game state.
+     *
+     * @param gameState The game state to send, which must be a copy of the master
+     *                  game state that is never modified afterwards.
+     * @param version   The version of the game state.
+     */
+    public CarcassonneGameInfo(CarcassonneGameState gameState, long version) {
+        this.gameState = gameState;
+        this.version = version;
+    }
+
+    /**
+     * Queries the game state that this message carries.
+     *
+     * @return The game state in this message.
+     */
+    public CarcassonneGameState getGameState() {
+        return this.gameState;
+    }
+
+    /**
+     * Queries the version of the game state in this message. A message with a higher
+     * version always has a newer game state, so the version can be used to tell if
+     * anything cached from an older message is out of date.
+     *
+     * @return The version of the game state.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+}
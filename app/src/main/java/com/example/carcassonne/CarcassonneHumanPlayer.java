@@ -1,5 +1,6 @@
 package com.example.carcassonne;
 
+import com.example.carcassonne.actionMsg.ResyncAction;
 import com.example.carcassonne.infoMsg.GameInfo;
 import com.example.carcassonne.infoMsg.NotYourTurnInfo;
 
@@ -32,9 +33,15 @@ public class CarcassonneHumanPlayer extends GameHumanPlayer {
      */
      private GameMainActivity activity;
 
-    /** The game state of the game, received in the last receiveInfo() callback. */
+    /**
+     * The game state of the game, updated in the last receiveInfo() callback. It is
+     * the replica's game state.
+     */
     private CarcassonneGameState gameState;
 
+    /** Our copy of the game state, which is kept up to date from the game's messages. */
+    private CarcassonneReplica replica;
+
     /** The table rows or linear layouts holding the information for each player. **/
     private View[] playerContainers;
 
@@ -149,6 +156,7 @@ public class CarcassonneHumanPlayer extends GameHumanPlayer {
      */
     public CarcassonneHumanPlayer(String name) {
         super(name);
+        this.replica = new CarcassonneReplica();
     }
 
     /**
@@ -165,11 +173,14 @@ public class CarcassonneHumanPlayer extends GameHumanPlayer {
      * Called when the player receives game state information. It updates all GUI objects
      * to reflect what the state of the game is.
      *
-     * @param info The game state to be received, or any other type for an error flash.
+     * @param info The game state, seed, or events to be received, or any other type
+     *             for an error flash.
      */
     @Override
     public void receiveInfo(GameInfo info) {
-        if (!(info instanceof CarcassonneGameState)) {
+        if (!(info instanceof CarcassonneGameInfo) &&
+                !(info instanceof CarcassonneSeedInfo) &&
+                !(info instanceof CarcassonneEventInfo)) {
             /* External Citation
              * Date: 4 April 2022
              * Problem: Wanted a nicer (and less buggy) thing than flashes
@@ -199,7 +210,15 @@ public class CarcassonneHumanPlayer extends GameHumanPlayer {
             return;
         }
 
-        this.gameState = (CarcassonneGameState)info;
+        if (!this.replica.update(info)) {
+            // If our copy of the game state is out of sync, ask for the whole thing,
+            // but only once, since events keep coming until it arrives.
+            if (this.replica.requestResync()) {
+                this.game.sendAction(new ResyncAction(this));
+            }
+            return;
+        }
+        this.gameState = this.replica.getGameState();
 
         // Now update the GUI with the new game state.
         updateGui();
@@ -483,7 +502,9 @@ public class CarcassonneHumanPlayer extends GameHumanPlayer {
         // Do NOT rotate the X and Y position; received positions are rotated with
         // the GUI object automatically.
         Tile currentTile = this.gameState.getBoard().getCurrentTile();
-        Section section = currentTile.getSectionFromPosition(x, y);
+        int color = BitmapProvider.getInstance().getTile(currentTile.getId())
+                .map.bitmap.getPixel(x, y);
+        Section section = currentTile.getSectionFromColor(color);
         this.game.sendAction(new CarcassonnePlaceMeepleAction(this, section));
 
         return true;
@@ -3,11 +3,32 @@ package com.example.carcassonne;
 import com.example.carcassonne.actionMsg.GameAction;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The local game class of Carcassonne; handles the sending and receiving of
  * actions to and from the master game state and the players.
  *
+ * The master game state is only ever modified on the game's thread. After each action
+ * that changes it, an immutable copy of it is published as a snapshot with a higher
+ * version number. Every player is sent the same snapshot, and anything else that
+ * needs to look at the game, like a spectator, can get the latest one at any time
+ * from any thread with getSnapshot(), without locking or copying.
+ *
+ * Players are only sent a whole snapshot when they join or ask for one with a
+ * ResyncAction. After that, they are only sent the events of each action (see
+ * GameEvent), which they apply to their own copy of the game state with a
+ * CarcassonneReplica. This keeps the messages small no matter how big the board is,
+ * which matters most for players over the network.
+ *
+ * Players over the network (ProxyPlayers) play in lockstep instead: they are sent
+ * just the seed at the start of the game, and then only the actions, as events. They
+ * run the same game locally, which plays out exactly the same. The state of the game
+ * is not sent, except for a hash of it at the end of each turn, which lets them notice
+ * if they have fallen out of sync and ask for a snapshot. Note that the seed tells the
+ * order of the deck, so this trusts the other players not to peek at it.
+ *
  * @author Sophie Arcangel
  * @author DJ Backus
  * @author Alex Martinez-Lopez
@@ -15,12 +36,59 @@ import java.util.ArrayList;
  * @author Cheyanne Yim
  */
 public class CarcassonneLocalGame extends LocalGame {
+    /** Indicates that a player needs a whole snapshot rather than events. */
+    private static final long NO_VERSION = -1;
+
     /** The master game state of which all player game states are copies. */
     private CarcassonneGameState gameState;
 
+    /** The seed to create the master game state with. */
+    private long seed;
+
+    /** The version of the master game state, i.e. the number of changes made to it. */
+    private long version;
+
+    /** The latest snapshot of the master game state, or null if there is none yet. */
+    private final AtomicReference<CarcassonneGameInfo> snapshot = new AtomicReference<>();
+
+    /**
+     * The version of the game state that each player was last sent, or NO_VERSION if
+     * they need a whole snapshot.
+     */
+    private long[] playerVersions;
+
+    /**
+     * The events of the last action, which change the game state from the previous
+     * version to the current one, or null if there hasn't been an action yet.
+     */
+    private CarcassonneEventInfo lastEvents;
+    /** The events of the last action for players in lockstep, like lastEvents. */
+    private CarcassonneEventInfo lastLockstepEvents;
+
+    /**
+     * Creates a new local game whose game state will be created with the specified
+     * seed, so that the same seed and actions always give the same game.
+     *
+     * @param seed The seed for the game state.
+     */
+    public CarcassonneLocalGame(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the latest snapshot of the game state, which is never modified. It can be
+     * called from any thread.
+     *
+     * @return The latest snapshot, or null if the game hasn't started yet.
+     */
+    public CarcassonneGameInfo getSnapshot() {
+        return this.snapshot.get();
+    }
+
     /**
-     * Sends the updated game state to the specified player. If the master game
-     * state does not exist yet, it is created.
+     * Sends the specified player the events of the last action if they have the
+     * version of the game state from just before it, or the latest snapshot of the
+     * game state otherwise. If the master game state does not exist yet, it is created.
      *
      * @param player The player to send the game state to.
      */
@@ -36,10 +104,37 @@ public class CarcassonneLocalGame extends LocalGame {
          * first needed is fine.
          */
         if (this.gameState == null) {
-            this.gameState = new CarcassonneGameState(this.players.length);
+            this.gameState = new CarcassonneGameState(this.players.length, this.seed);
+            publishSnapshot();
+
+            this.playerVersions = new long[this.players.length];
+            Arrays.fill(this.playerVersions, NO_VERSION);
+        }
+
+        int index = getPlayerIdx(player);
+        boolean isLockstep = player instanceof ProxyPlayer;
+
+        if (this.lastEvents != null && this.playerVersions[index] == this.version - 1) {
+            player.sendInfo(isLockstep ? this.lastLockstepEvents : this.lastEvents);
+        } else if (isLockstep && this.version == 0) {
+            player.sendInfo(new CarcassonneSeedInfo(this.players.length, this.seed));
+        } else {
+            player.sendInfo(this.snapshot.get());
         }
 
-        player.sendInfo(new CarcassonneGameState(this.gameState));
+        this.playerVersions[index] = this.version;
+    }
+
+    /**
+     * Sends the specified player the latest snapshot of the game state, since they
+     * have lost track of it.
+     *
+     * @param player The player to send the snapshot to.
+     */
+    @Override
+    protected void resendStateTo(GamePlayer player) {
+        this.playerVersions[getPlayerIdx(player)] = NO_VERSION;
+        sendUpdatedStateTo(player);
     }
 
     /**
@@ -143,6 +238,69 @@ public class CarcassonneLocalGame extends LocalGame {
             assert valid;
         }
 
+        if (valid) {
+            this.version++;
+            this.lastEvents = new CarcassonneEventInfo(createEvents(action, false),
+                    this.version);
+            this.lastLockstepEvents = new CarcassonneEventInfo(createEvents(action, true),
+                    this.version);
+            publishSnapshot();
+        }
+
         return valid;
     }
+
+    /**
+     * Creates the events for a valid action that was just made on the master game
+     * state, which tell the players how to make the same changes to their copies.
+     *
+     * @param action     The action that was made.
+     * @param isLockstep Whether the events are for players in lockstep, who are sent
+     *                   a hash of the game state at the end of each turn rather than
+     *                   the results of the turn.
+     * @return The events caused by the action.
+     */
+    private GameEvent[] createEvents(GameAction action, boolean isLockstep) {
+        Tile tile = this.gameState.getBoard().getCurrentTile();
+
+        if (action instanceof CarcassonnePlaceTileAction) {
+            return new GameEvent[] {GameEvent.tileMoved(tile.getX(), tile.getY())};
+        } else if (action instanceof CarcassonneRotateTileAction) {
+            return new GameEvent[] {GameEvent.tileRotated(tile.getRotation())};
+        } else if (action instanceof CarcassonneConfirmTileAction) {
+            return new GameEvent[] {GameEvent.tileConfirmed()};
+        } else if (action instanceof CarcassonneResetTurnAction) {
+            return new GameEvent[] {GameEvent.turnReset()};
+        } else if (action instanceof CarcassonnePlaceMeepleAction) {
+            return new GameEvent[] {GameEvent.meeplePlaced(tile)};
+        }
+
+        // Otherwise, the meeple was confirmed, so the turn is over. A new turn starts
+        // unless the game ended.
+        assert action instanceof CarcassonneConfirmMeepleAction;
+        if (isLockstep) {
+            return new GameEvent[] {GameEvent.meepleConfirmed(),
+                    GameEvent.stateHash(this.gameState)};
+        } else if (this.gameState.isGameOver()) {
+            return new GameEvent[] {GameEvent.scoresChanged(this.gameState)};
+        }
+        return new GameEvent[] {GameEvent.scoresChanged(this.gameState),
+                GameEvent.turnStarted(this.gameState)};
+    }
+
+    /**
+     * Publishes a copy of the master game state as the latest snapshot. Copying the
+     * game state is cheap since the copy shares the board with the master game state
+     * until the master game state next changes it.
+     *
+     * Making the copy here on the game thread marks the board structures of both the
+     * master and the copy as shared before anyone else can see the snapshot. The
+     * master is never journaling, so the copy is always a sharing one. Players copy
+     * the snapshot from their own threads, and since it is already marked as shared,
+     * copying it never writes to it.
+     */
+    private void publishSnapshot() {
+        CarcassonneGameState copy = new CarcassonneGameState(this.gameState);
+        this.snapshot.set(new CarcassonneGameInfo(copy, this.version));
+    }
 }
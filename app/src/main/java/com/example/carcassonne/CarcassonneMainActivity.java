@@ -1,5 +1,8 @@
 package com.example.carcassonne;
 
+import android.util.Log;
+import android.widget.Toast;
+
 import com.example.carcassonne.config.GameConfig;
 import com.example.carcassonne.config.GamePlayerType;
 import java.util.ArrayList;
@@ -113,12 +116,21 @@ public class CarcassonneMainActivity extends GameMainActivity {
     }
 
     /**
-     * Create the local game class that controls Carcassonne.
+     * Create the local game class that controls Carcassonne, seeded from the game
+     * configuration. If the configuration uses a random seed, a new one is made. The
+     * seed is logged and shown to the player either way, so that any game can be
+     * played again by entering its seed in the configuration.
      *
+     * @param config The configuration the game is being launched with.
      * @return The new local game object.
      */
     @Override
-    public LocalGame createLocalGame() {
-        return new CarcassonneLocalGame();
+    public LocalGame createLocalGame(GameConfig config) {
+        long seed = config.isRandomSeed() ? Rng.createSeed() : config.getSeed();
+        Log.i("CarcassonneMainActivity", "Starting game with seed " + seed);
+        Toast.makeText(getApplicationContext(), "Starting game with seed " + seed,
+                Toast.LENGTH_LONG).show();
+
+        return new CarcassonneLocalGame(seed);
     }
 }
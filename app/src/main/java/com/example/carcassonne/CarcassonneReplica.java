@@ -0,0 +1,123 @@
+package com.example.carcassonne;
+
+import com.example.carcassonne.infoMsg.GameInfo;
+
+/**
+ * A player's own copy of the game state, kept up to date from the messages the local
+ * game sends: a full snapshot (CarcassonneGameInfo) or just the seed of the game
+ * (CarcassonneSeedInfo) when the player joins, a full snapshot when it asks for one,
+ * and the events of each action (CarcassonneEventInfo) after that.
+ *
+ * If an event message is missed or disagrees with the copy, the copy is out of sync,
+ * and it ignores events until the next snapshot arrives. The player should ask the
+ * game for one with a ResyncAction whenever requestResync() returns true, which it
+ * only does once each time the copy goes out of sync.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class CarcassonneReplica {
+    /** The copy of the game state, or null if no snapshot has arrived yet. */
+    private CarcassonneGameState gameState;
+
+    /** The version of the copy of the game state. */
+    private long version;
+
+    /** Whether the copy is out of sync, so events are dropped until a snapshot. */
+    private boolean isOutOfSync;
+    /** Whether a snapshot has been asked for since the copy went out of sync. */
+    private boolean isAwaitingSnapshot;
+
+    /**
+     * Gets the copy of the game state. It is modified in place by update(), and must
+     * not be modified otherwise.
+     *
+     * @return The game state, or null if no snapshot has arrived yet.
+     */
+    public CarcassonneGameState getGameState() {
+        return this.gameState;
+    }
+
+    /**
+     * Queries whether the copy is out of sync, in which case events are dropped until
+     * the next snapshot arrives.
+     *
+     * @return True if the copy is out of sync, false otherwise.
+     */
+    public boolean isOutOfSync() {
+        return this.isOutOfSync;
+    }
+
+    /**
+     * Checks whether the player should send a ResyncAction to get a new snapshot, and
+     * if so, records that one has been asked for. Events keep arriving until the
+     * snapshot does, so this returns true only once each time the copy goes out of
+     * sync to keep them from each asking for another snapshot.
+     *
+     * @return True if the copy is out of sync and no snapshot has been asked for yet,
+     *         false otherwise.
+     */
+    public boolean requestResync() {
+        if (!this.isOutOfSync || this.isAwaitingSnapshot) {
+            return false;
+        }
+
+        this.isAwaitingSnapshot = true;
+        return true;
+    }
+
+    /**
+     * Updates the copy of the game state from a message from the local game.
+     *
+     * @param info The message from the local game.
+     * @return True if the message was a snapshot, seed, or events that updated the
+     *         copy, false if it was another kind of message or the copy is out of
+     *         sync.
+     */
+    public boolean update(GameInfo info) {
+        if (info instanceof CarcassonneGameInfo) {
+            CarcassonneGameInfo snapshot = (CarcassonneGameInfo)info;
+
+            // The snapshot is shared with the other players, so make our own copy of
+            // it to apply events to. It's cheap since they share the board.
+            this.gameState = new CarcassonneGameState(snapshot.getGameState());
+            this.version = snapshot.getVersion();
+            this.isOutOfSync = false;
+            this.isAwaitingSnapshot = false;
+            return true;
+        }
+
+        if (info instanceof CarcassonneSeedInfo) {
+            // The seed is only sent at the very start, before any actions. A snapshot
+            // asked for before then still replaces the copy when it arrives.
+            this.gameState = ((CarcassonneSeedInfo)info).createGameState();
+            this.version = 0;
+            this.isOutOfSync = false;
+            return true;
+        }
+
+        if (!(info instanceof CarcassonneEventInfo) || this.isOutOfSync) {
+            return false;
+        }
+
+        // The events must follow on from the version we have, or we missed some.
+        CarcassonneEventInfo eventInfo = (CarcassonneEventInfo)info;
+        if (this.gameState == null || eventInfo.getVersion() != this.version + 1) {
+            this.isOutOfSync = true;
+            return false;
+        }
+
+        for (int i = 0; i < eventInfo.getNumEvents(); i++) {
+            if (!this.gameState.applyEvent(eventInfo.getEvent(i))) {
+                this.isOutOfSync = true;
+                return false;
+            }
+        }
+
+        this.version = eventInfo.getVersion();
+        return true;
+    }
+}
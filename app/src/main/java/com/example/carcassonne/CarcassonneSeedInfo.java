@@ -0,0 +1,43 @@
+package com.example.carcassonne;
+
+import com.example.carcassonne.infoMsg.GameInfo;
+
+/**
+ * The game framework message that starts a player's copy of the game state from just
+ * the number of players and the seed of the game, rather than a whole snapshot. Since
+ * the game plays out the same for the same seed and actions, this is all a player on
+ * another machine needs before the actions start coming in (see CarcassonneLocalGame).
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class CarcassonneSeedInfo extends GameInfo {
+    /** The number of players in the game. */
+    private final int numPlayers;
+
+    /** The seed of the game. */
+    private final long seed;
+
+    /**
+     * Creates a new message carrying the number of players and seed of a game.
+     *
+     * @param numPlayers The number of players in the game.
+     * @param seed       The seed of the game.
+     */
+    public CarcassonneSeedInfo(int numPlayers, long seed) {
+        this.numPlayers = numPlayers;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates the game state at the start of the game, before any actions.
+     *
+     * @return The new game state.
+     */
+    public CarcassonneGameState createGameState() {
+        return new CarcassonneGameState(this.numPlayers, this.seed);
+    }
+}
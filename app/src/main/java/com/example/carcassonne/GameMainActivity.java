@@ -107,10 +107,12 @@ View.OnClickListener {
 	 * an instance of your TTTLocalGame class which, in turn, would be a
 	 * subclass of {@link LocalGame}.
 	 * 
+	 * @param config
+	 *            the configuration the game is being launched with
 	 * @return a new, game-specific instance of a sub-class of the LocalGame
 	 *         class.
 	 */
-	public abstract LocalGame createLocalGame();
+	public abstract LocalGame createLocalGame(GameConfig config);
 
 	/**
 	 * Creates a "proxy" game that acts as an intermediary between a local
@@ -263,7 +265,7 @@ View.OnClickListener {
 		// until further down so that we do not attempt to make the
 		// network connection until other errors are checked)
 		if (config.isLocal()) { // local game
-			game = createLocalGame();
+			game = createLocalGame(config);
 			// verify we have a game
 			if (game == null) {
 				return "Game creation failed.";
@@ -446,6 +448,10 @@ View.OnClickListener {
 		// Set the remote widget data
 		initRemoteWidgets();
 
+		// Set the seed, leaving it blank for a random seed
+		EditText seedEditText = (EditText)findViewById(R.id.seedEditText);
+		seedEditText.setText(config.isRandomSeed() ? "" : Long.toString(config.getSeed()));
+
 		// Set myself as the listener for the buttons
 		View v = findViewById(R.id.addPlayerButton);
 		v.setOnClickListener(this);
@@ -662,6 +668,25 @@ View.OnClickListener {
 		String ipCode = ipCodeEditText.getText().toString();
 		result.setIpCode(ipCode);
 
+		//Set the seed, where a blank seed means a random one
+		EditText seedEditText = (EditText)findViewById(R.id.seedEditText);
+		String seed = seedEditText.getText().toString().trim();
+		if (seed.length() == 0) {
+			result.setRandomSeed();
+		}
+		else {
+			try {
+				result.setSeed(Long.parseLong(seed));
+			}
+			catch (NumberFormatException nfx) {
+				// the field only allows digits and a minus sign, but a lone minus
+				// sign or a number too big for a long still gets here
+				Log.w("scrapeData", "Invalid seed \"" + seed
+						+ "\", using a random seed instead.");
+				result.setRandomSeed();
+			}
+		}
+
 		return result;
 	}// scrapeData
 
@@ -9,6 +9,7 @@ import com.example.carcassonne.actionMsg.GameAction;
 import com.example.carcassonne.actionMsg.GameOverAckAction;
 import com.example.carcassonne.actionMsg.MyNameIsAction;
 import com.example.carcassonne.actionMsg.ReadyAction;
+import com.example.carcassonne.actionMsg.ResyncAction;
 import com.example.carcassonne.actionMsg.TimerAction;
 import com.example.carcassonne.infoMsg.BindGameInfo;
 import com.example.carcassonne.infoMsg.GameOverInfo;
@@ -129,6 +130,18 @@ public abstract class LocalGame implements com.example.carcassonne.Game, Tickabl
 	 */
 	protected abstract void sendUpdatedStateTo(GamePlayer p);
 
+	/**
+	 * Send the given player the game's whole state again, because the player has lost
+	 * track of it. By default, this just calls 'sendUpdatedStateTo'; games that send
+	 * players only the changes to the state should override it to send everything.
+	 *
+	 * @param p
+	 * 			the player to send the state to
+	 */
+	protected void resendStateTo(GamePlayer p) {
+		sendUpdatedStateTo(p);
+	}
+
 	/**
 	 * Notify all players that the game's state has changed. Typically this simply
 	 * calls the 'notifyStateChanged' method for each player.
@@ -233,14 +246,22 @@ public abstract class LocalGame implements com.example.carcassonne.Game, Tickabl
 					this.checkAndHandleAction(action);
 				}
 			}
+			else if (action instanceof ResyncAction && gameStage == GameStage.DURING_GAME) {
+
+				// CASE 4: it's during the game, and a player has lost track of the
+				// game's state, so send it again
+				if (getPlayerIdx(action.getPlayer()) >= 0) {
+					resendStateTo(action.getPlayer());
+				}
+			}
 			else if (action instanceof GameAction && gameStage == GameStage.DURING_GAME) {
 
-				// CASE 4: it's during the game, and we get an action from a player
+				// CASE 5: it's during the game, and we get an action from a player
 				this.checkAndHandleAction(action);
 			}
 			else if (action instanceof GameOverAckAction && gameStage == GameStage.GAME_OVER) {
 
-				// CASE 5: the game is over, and we are waiting for each player to
+				// CASE 6: the game is over, and we are waiting for each player to
 				// acknowledge this
 				int playerIdx = getPlayerIdx(action.getPlayer());
 				if (playerIdx >= 0 && !playersFinished[playerIdx]) {
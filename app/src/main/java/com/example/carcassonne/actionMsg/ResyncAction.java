@@ -0,0 +1,28 @@
+package com.example.carcassonne.actionMsg;
+
+import com.example.carcassonne.GamePlayer;
+
+/**
+ * An action by which the player tells the game that it has lost track of the
+ * game's state, and needs to be sent the whole state again.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class ResyncAction extends GameAction {
+
+	// to satisfy the Serializable interface
+	private static final long serialVersionUID = 4120937625801764215L;
+
+	/** constructor
+	 *
+	 * @param p
+	 * 		the player who sent the action
+	 */
+	public ResyncAction(GamePlayer p) {
+		super(p);
+	}
+}
@@ -3,6 +3,7 @@ package com.example.carcassonne.config;
 import android.content.Context;
 import android.util.Log;
 
+import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -98,6 +99,18 @@ public class GameConfig {
 	 * debugging.
 	 */
 	private boolean userModifiable;
+
+	/**
+	 * whether every game should get a different seed for its random numbers
+	 * rather than using 'seed'
+	 */
+	private boolean isRandomSeed;
+
+	/**
+	 * the seed for the game's random numbers, so that a game can be reproduced
+	 * exactly; only used if 'isRandomSeed' is false
+	 */
+	private long seed;
 	
 	/**
 	 * to create an instance of this class initial values for some instance
@@ -158,7 +171,10 @@ public class GameConfig {
 	 * 		the copy of the config
 	 */
 	public GameConfig copyWithoutPlayers() {
-		return new GameConfig(availTypes, minPlayers, maxPlayers, gameName, portNum);
+		GameConfig copy = new GameConfig(availTypes, minPlayers, maxPlayers, gameName, portNum);
+		copy.isRandomSeed = isRandomSeed;
+		copy.seed = seed;
+		return copy;
 	}// copyWithoutPlayers
 	
 	/**
@@ -205,6 +221,10 @@ public class GameConfig {
 
 		// by default, allow the user to modify the configuration
 		this.userModifiable = true;
+
+		// by default, every game is different
+		this.isRandomSeed = true;
+		this.seed = 0;
 		
 	}// setRemoteData
 	
@@ -235,6 +255,8 @@ public class GameConfig {
 	 * - the list of player names (ArrayList<String>)
 	 * - a sequence of N Strings that denote the (menu-text) for the respective
 	 *   player types, where N is the number of elements in the list of player names
+	 * - a Boolean that denotes whether every game gets a random seed
+	 * - the seed to use otherwise (Long)
 	 * 
 	 * @param fileName
 	 * 		the name of the file for storing
@@ -271,6 +293,10 @@ public class GameConfig {
 			for (GamePlayerType gpt : selTypes) {
 				oos.writeObject(gpt.getTypeName());
 			}
+
+			// write out the seed
+			oos.writeObject(isRandomSeed);
+			oos.writeObject(seed);
 			
 			// close the stream
 			oos.close();
@@ -355,6 +381,18 @@ public class GameConfig {
 				selTypesTemp.add(gpt2);
 			}
 
+			// read in the seed; files saved before there was a seed don't have one,
+			// so they keep getting a random seed
+			boolean isRandomSeedTemp = true;
+			long seedTemp = 0;
+			try {
+				isRandomSeedTemp = (Boolean)ois.readObject();
+				seedTemp = (Long)ois.readObject();
+			}
+			catch (EOFException eofx) {
+				// no seed in the file
+			}
+
 			// everything was successful, so modify the configuration by replacing the
 			// old information with the new
 			this.isLocal = isLocalTemp;
@@ -363,6 +401,8 @@ public class GameConfig {
 			this.ipCode = ipTemp;
 			this.selNames = selNamesTemp;
 			this.selTypes = selTypesTemp;
+			this.isRandomSeed = isRandomSeedTemp;
+			this.seed = seedTemp;
 			
 			// return "success"
 			return true;
@@ -713,5 +753,41 @@ public class GameConfig {
 		this.userModifiable = userModifiable;
 	}// setUserModifiable
 
+	/**
+	 * @return whether every game should get a different seed for its random
+	 *       numbers, in which case getSeed() is meaningless
+	 */
+	public boolean isRandomSeed() {
+		return isRandomSeed;
+	}// isRandomSeed
+
+	/**
+	 * sets every game to get a different seed for its random numbers
+	 */
+	public void setRandomSeed() {
+		this.isRandomSeed = true;
+	}// setRandomSeed
+
+	/**
+	 * @return the seed for the game's random numbers; only meaningful if
+	 *       isRandomSeed() is false
+	 */
+	public long getSeed() {
+		return seed;
+	}// getSeed
+
+	/**
+	 * sets the seed for the game's random numbers, so that the same game can be
+	 * played again, e.g. for benchmarking or reproducing bugs. Every value is a
+	 * valid seed, including zero.
+	 * 
+	 * @param seed
+	 *       the seed to use for every game
+	 */
+	public void setSeed(long seed) {
+		this.isRandomSeed = false;
+		this.seed = seed;
+	}// setSeed
+
 }// class GameConfig
 
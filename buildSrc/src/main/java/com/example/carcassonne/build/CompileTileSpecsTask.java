@@ -0,0 +1,256 @@
+package com.example.carcassonne.build;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Build task that compiles the tile section images (section_a.png through
+ * section_x.png) into a single compact binary tile specification, which
+ * TileDefinition loads at runtime instead of decoding and scanning the images.
+ * Refer to Tile's documentation for how section images are laid out.
+ *
+ * The specification is written to com/example/carcassonne/tiles.bin inside the
+ * output directory so that it can be added as a Java resource directory. It has
+ * the following big-endian format:
+ *
+ * - int:   The magic number MAGIC.
+ * - short: The format version, VERSION.
+ * - byte:  The number of tiles.
+ * - For each tile:
+ *     - byte: The tile ID, from 'A' to 'X'.
+ *     - byte: Flags; FLAG_PENNANT is set if the tile has a pennant.
+ *     - byte: The number of sections.
+ *     - For each section, in the order they are found in the image:
+ *         - int:   The color of the section.
+ *         - short: The X meeple display position.
+ *         - short: The Y meeple display position.
+ *         - byte:  A bitmask of the parts in the section, where bit N is part N.
+ *                  Road sections use road parts and cloisters have no parts.
+ *
+ * Any inconsistency in the images, such as a part with no matching meeple position,
+ * fails the build rather than producing a broken specification.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public abstract class CompileTileSpecsTask extends DefaultTask {
+    /** The magic number at the start of every tile specification ("TILE"). */
+    public static final int MAGIC = 0x54494C45;
+    /** The version of the tile specification format. */
+    public static final int VERSION = 1;
+
+    /** The tile flag indicating that the tile has a pennant. */
+    public static final int FLAG_PENNANT = 1;
+
+    /** The size of every tile image, which is 292 pixels. */
+    private static final int SIZE = 292;
+
+    /** The filler color (pure white) that is not a meeple position. */
+    private static final int NO_MEEPLE = 0xFFFFFFFF;
+    /** The color (total black) indicating no road or no special. */
+    private static final int NO_SECTION_COLOR = 0xFF000000;
+    /** The special color used to indicate that the tile has a pennant. */
+    private static final int PENNANT_COLOR = 0xFFFF0000;
+
+    /** The colors that farm and city parts may have. */
+    private static final HashSet<Integer> PART_COLORS = new HashSet<>(Arrays.asList(
+            0xFF00FF00, 0xFF00BF00, 0xFF007F00, 0xFF003F00, 0xFFFF0000, 0xFFBF0000));
+    /** The colors that road parts may have. */
+    private static final HashSet<Integer> ROAD_COLORS = new HashSet<>(Arrays.asList(
+            0xFF0000FF, 0xFF0000BF, 0xFF00007F, 0xFF00003F));
+
+    /**
+     * The X and Y lookup positions of the normal parts 0-7 on the edges of the
+     * section image, which are at the 1/4 and 3/4 positions on each edge.
+     */
+    private static final int[][] PART_POSITIONS = {
+            {SIZE / 4,     0},
+            {SIZE * 3 / 4, 0},
+            {SIZE - 1,     SIZE / 4},
+            {SIZE - 1,     SIZE * 3 / 4},
+            {SIZE * 3 / 4, SIZE - 1},
+            {SIZE / 4,     SIZE - 1},
+            {0,            SIZE * 3 / 4},
+            {0,            SIZE / 4},
+    };
+
+    /**
+     * The X and Y lookup positions of the road parts 0-3 on the edges of the section
+     * image, which are at the 1/2 position on each edge.
+     */
+    private static final int[][] ROAD_PART_POSITIONS = {
+            {SIZE / 2, 0},
+            {SIZE - 1, SIZE / 2},
+            {SIZE / 2, SIZE - 1},
+            {0,        SIZE / 2},
+    };
+
+    /**
+     * The directory containing the section_*.png images.
+     *
+     * @return The section image directory property.
+     */
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getSectionDir();
+
+    /**
+     * The resource directory to write the tile specification into.
+     *
+     * @return The output directory property.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    /**
+     * Compiles every section image for the tiles A-X into the tile specification.
+     *
+     * @throws IOException If an image could not be read or the output written.
+     */
+    @TaskAction
+    public void compile() throws IOException {
+        File outputFile = new File(getOutputDir().get().getAsFile(),
+                "com/example/carcassonne/tiles.bin");
+        if (!outputFile.getParentFile().isDirectory() && !outputFile.getParentFile().mkdirs()) {
+            throw new IOException("Could not create " + outputFile.getParentFile());
+        }
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(outputFile)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeByte('X' - 'A' + 1);
+
+            for (char id = 'A'; id <= 'X'; id++) {
+                File image = new File(getSectionDir().get().getAsFile(),
+                        "section_" + Character.toLowerCase(id) + ".png");
+
+                BufferedImage bitmap = ImageIO.read(image);
+                if (bitmap == null) {
+                    throw new GradleException("Could not read section image " + image);
+                }
+
+                compileTile(id, bitmap, out);
+            }
+        }
+    }
+
+    /**
+     * Compiles a single section image into its entry in the tile specification.
+     *
+     * @param id     The ID of the tile being compiled.
+     * @param bitmap The section image of the tile.
+     * @param out    The stream to write the tile entry to.
+     * @throws IOException If the entry could not be written.
+     */
+    public static void compileTile(char id, BufferedImage bitmap, DataOutputStream out)
+            throws IOException {
+        if (bitmap.getWidth() != SIZE || bitmap.getHeight() != SIZE) {
+            throw new GradleException("Section image for tile " + id + " is not " +
+                    SIZE + "x" + SIZE);
+        }
+
+        // Find each section from its meeple position, skipping the one pixel borders,
+        // which contain section part information instead.
+        ArrayList<Integer> colors = new ArrayList<>();
+        ArrayList<int[]> positions = new ArrayList<>();
+
+        for (int y = 1; y < SIZE - 1; y++) {
+            for (int x = 1; x < SIZE - 1; x++) {
+                int color = bitmap.getRGB(x, y);
+                if (color == NO_MEEPLE) {
+                    continue;
+                }
+
+                if (colors.contains(color)) {
+                    throw new GradleException("Tile " + id + " has two meeple positions " +
+                            "for color " + Integer.toHexString(color));
+                }
+
+                colors.add(color);
+                positions.add(new int[] {x, y});
+            }
+        }
+
+        // Collect the parts of each section by looking up the edge positions.
+        int[] partMasks = new int[colors.size()];
+        addParts(id, bitmap, PART_POSITIONS, false, colors, partMasks);
+        addParts(id, bitmap, ROAD_PART_POSITIONS, true, colors, partMasks);
+
+        // The top left corner contains the special, which may only be a pennant.
+        int specialColor = bitmap.getRGB(0, 0);
+        if (specialColor != PENNANT_COLOR && specialColor != NO_SECTION_COLOR) {
+            throw new GradleException("Tile " + id + " has an unknown special color " +
+                    Integer.toHexString(specialColor));
+        }
+
+        out.writeByte(id);
+        out.writeByte(specialColor == PENNANT_COLOR ? FLAG_PENNANT : 0);
+        out.writeByte(colors.size());
+
+        for (int i = 0; i < colors.size(); i++) {
+            out.writeInt(colors.get(i));
+            out.writeShort(positions.get(i)[0]);
+            out.writeShort(positions.get(i)[1]);
+            out.writeByte(partMasks[i]);
+        }
+    }
+
+    /**
+     * Looks up each of the specified part positions on the section image and adds
+     * the part to the mask of the section with that color.
+     *
+     * @param id        The ID of the tile being compiled, for error messages.
+     * @param bitmap    The section image of the tile.
+     * @param positions The X and Y lookup position of each part, indexed by part.
+     * @param isRoad    Whether the positions are for road parts or normal parts.
+     * @param colors    The colors of each section, indexed by section index.
+     * @param partMasks The part masks of each section to add the parts to.
+     */
+    private static void addParts(char id, BufferedImage bitmap, int[][] positions,
+                                 boolean isRoad, ArrayList<Integer> colors, int[] partMasks) {
+        for (int part = 0; part < positions.length; part++) {
+            int color = bitmap.getRGB(positions[part][0], positions[part][1]);
+
+            // Only roads may not have a section; everything else must have one.
+            if (color == NO_SECTION_COLOR && isRoad) {
+                continue;
+            }
+
+            if (!(isRoad ? ROAD_COLORS : PART_COLORS).contains(color)) {
+                throw new GradleException("Tile " + id + " has an invalid color " +
+                        Integer.toHexString(color) + " for " + (isRoad ? "road " : "") +
+                        "part " + part);
+            }
+
+            int index = colors.indexOf(color);
+            if (index == -1) {
+                throw new GradleException("Tile " + id + " has no meeple position for " +
+                        "the section with color " + Integer.toHexString(color));
+            }
+
+            partMasks[index] |= 1 << part;
+        }
+    }
+}
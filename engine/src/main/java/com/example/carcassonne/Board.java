@@ -0,0 +1,1567 @@
+package com.example.carcassonne;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Represents the "board" of tiles, i.e. all the tiles in play, including the special
+ * current tile that is not fully committed to the board, if there is one. Any positions
+ * not containing a tile are null.
+ *
+ * Tiles are stored sparsely by their X and Y position, which may be negative. Positions
+ * are stable: a tile keeps the same position for the whole game, no matter which
+ * direction the board grows in. The starting tile is always at (1, 1).
+ *
+ * The bounds of the board always include a border of one empty tile on all sides of the
+ * board to allow placement of the current tile there. This border will be reflected in
+ * getMinX(), getMinY(), getWidth() and getHeight(). The bounds grow in each direction as
+ * necessary when tiles are added inside this border.
+ *
+ * While journaling, every tile inserted, meeple removed, and change of the current
+ * tile is recorded along with the feature graph's changes, so that the board can be
+ * rolled back to an earlier mark. This lets moves be undone without copying the board.
+ *
+ * Copies of the board share the confirmed tiles and the board's data structures with
+ * the original, so a copy for each player is cheap no matter how big the board is.
+ * The data structures are split into chunks, and a change only copies the chunks it
+ * touches, so the first move after a copy doesn't pay for the whole board either. For
+ * this to work, confirmed tiles are never modified: removing a meeple from one
+ * replaces it with a copy of the tile without the meeple.
+ *
+ * The board also keeps a Zobrist hash (see Zobrist) of its confirmed tiles and
+ * meeples, which is updated whenever a tile is inserted or a meeple removed.
+ *
+ * All logic for tile and placement and scoring takes place in the Analysis class and
+ * its subclasses in this file, which get accessed through methods in Board.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class Board implements Serializable {
+    /** The initial number of ints there is space for in the journal. */
+    private static final int INITIAL_JOURNAL_CAPACITY = 64;
+
+    /*
+     * The kinds of journal entries. Each entry is some ints followed by its kind, and
+     * has a tile in the journal's tiles.
+     *
+     * - JOURNAL_INSERT: The old minTileX, minTileY, maxTileX and maxTileY, the
+     *   frontier constraint at the tile's position or zero if it had none, and the
+     *   feature graph's journal mark before the tile was inserted.
+     * - JOURNAL_MEEPLE_REMOVED: The occupied cloister count of the tile and the
+     *   feature graph's journal mark before the meeple was removed. The tile is the
+     *   tile with the meeple that was replaced.
+     * - JOURNAL_CURRENT_TILE: No ints. The tile is the old current tile.
+     */
+    private static final int JOURNAL_INSERT = 0;
+    private static final int JOURNAL_MEEPLE_REMOVED = 1;
+    private static final int JOURNAL_CURRENT_TILE = 2;
+
+    /**
+     * The scratch arrays for isFeatureFreeOfMeeples() on each thread, reused so that
+     * searching for meeple placements doesn't allocate. They are per thread rather
+     * than per board since several threads may search the same board at once.
+     */
+    private static final ThreadLocal<FeatureScratch> FEATURE_SCRATCH =
+            new ThreadLocal<FeatureScratch>() {
+                @Override
+                protected FeatureScratch initialValue() {
+                    return new FeatureScratch();
+                }
+            };
+
+    /**
+     * The map of tiles on the board, keyed by position packed with packPosition(). If
+     * there is no tile at some position, that position is not in the map. The tile
+     * currently being placed is not stored in this map, but rather stored as a
+     * separate instance variable.
+     */
+    private LongTileMap tiles;
+
+    /** The smallest X position of any confirmed tile. */
+    private int minTileX;
+    /** The smallest Y position of any confirmed tile. */
+    private int minTileY;
+    /** The largest X position of any confirmed tile. */
+    private int maxTileX;
+    /** The largest Y position of any confirmed tile. */
+    private int maxTileY;
+
+    /**
+     * The map of frontier positions on the board, i.e. every empty position that has
+     * at least one confirmed tile adjacent to it, to the constraint that the adjacent
+     * tiles put on it (see TileDefinition). These are the only positions where the
+     * current tile can ever be placed, so placement searches only need to look at
+     * them. Positions are packed with packPosition(). Constraints are never zero, since
+     * frontier positions have at least one adjacent tile. It is kept up to date
+     * whenever a tile is added to the board.
+     */
+    private LongIntMap frontier;
+
+    /**
+     * The index of every city, road, and farm formed by the confirmed tiles on the
+     * board. It is kept up to date whenever a tile is added to the board.
+     */
+    private FeatureGraph features;
+
+    /**
+     * The registry of occupied cloisters, i.e. confirmed tiles with a meeple on their
+     * cloister, mapping the packed position of each to the number of confirmed tiles
+     * around and including it, which is never zero. The counts are updated whenever a
+     * tile is added to the board, and cloisters are removed from the registry when
+     * their meeple is.
+     */
+    private LongIntMap occupiedCloisters;
+
+    /**
+     * The tile currently being placed, or null if none. The current tile should never
+     * overlap other tiles.
+     */
+    private Tile currentTile;
+
+    /**
+     * The Zobrist hash of every confirmed tile and meeple on the board. The current
+     * tile is not included, but is mixed in by getHash().
+     */
+    private long hash;
+
+    /** Whether changes to the board are being recorded in the journal. */
+    private boolean isJournaling;
+    /**
+     * The ints of each change made to the board while journaling, or null if the board
+     * has never journaled. Only searches journal, so it is allocated when first needed
+     * rather than for every copy.
+     */
+    private int[] journal;
+    /** The number of ints in use in the journal. */
+    private int journalSize;
+    /**
+     * The tile of each change made to the board while journaling, or null if the board
+     * has never journaled.
+     */
+    private ArrayList<Tile> journalTiles;
+
+    /**
+     * Queries the smallest X position in the bounds of the board, including the empty
+     * border. It may be negative.
+     *
+     * @return The X position of the left edge of the board.
+     */
+    public int getMinX() {
+        return this.minTileX - 1;
+    }
+
+    /**
+     * Queries the smallest Y position in the bounds of the board, including the empty
+     * border. It may be negative.
+     *
+     * @return The Y position of the top edge of the board.
+     */
+    public int getMinY() {
+        return this.minTileY - 1;
+    }
+
+    /**
+     * Queries the width of the board, including the empty border. The bounds of the
+     * board span from getMinX() to getMinX() + getWidth() - 1.
+     *
+     * @return The width of the board in tiles.
+     */
+    public int getWidth() {
+        return this.maxTileX - this.minTileX + 3;
+    }
+
+    /**
+     * Queries the height of the board, including the empty border. The bounds of the
+     * board span from getMinY() to getMinY() + getHeight() - 1.
+     *
+     * @return The height of the board in tiles.
+     */
+    public int getHeight() {
+        return this.maxTileY - this.minTileY + 3;
+    }
+
+    /**
+     * Queries the number of confirmed tiles on the board.
+     *
+     * @return The number of confirmed tiles.
+     */
+    public int getNumTiles() {
+        return this.tiles.size();
+    }
+
+    /**
+     * Queries whether the specified position is out of bounds for the board.
+     *
+     * @param x The X position to query boundedness of.
+     * @param y The Y position to query boundedness of.
+     * @return True if the position is out of bounds, false if in bounds.
+     */
+    public boolean isOutOfBounds(int x, int y) {
+        return x < this.minTileX - 1 || y < this.minTileY - 1 ||
+                x > this.maxTileX + 1 || y > this.maxTileY + 1;
+    }
+
+    /**
+     * Gets a tile on the board with bounds checking, including the current tile.
+     *
+     * @param x The X position of the tile to get.
+     * @param y The Y position of the tile to get.
+     * @return The tile if there is one, or null if there is no tile or the specified
+     *         position is out of bounds.
+     */
+    public Tile getTile(int x, int y) {
+        if (this.currentTile != null &&
+                x == this.currentTile.getX() && y == this.currentTile.getY()) {
+            return this.currentTile;
+        }
+        return getConfirmedTile(x, y);
+    }
+
+    /**
+     * Gets a tile on the board with bounds checking, NOT including the current tile.
+     *
+     * @param x The X position of the tile to get.
+     * @param y The Y position of the tile to get.
+     * @return The tile if there is one, or null if there is no tile or the specified
+     *         position is out of bounds.
+     */
+    public Tile getConfirmedTile(int x, int y) {
+        return this.tiles.get(packPosition(x, y));
+    }
+
+    /**
+     * Manually places a tile directly on the board. It does not go through validity
+     * checking, but just places it verbatim. Generally useful for internal functions
+     * and unit testing rather than a normal external interface.
+     *
+     * @param x    The X position to place the tile at.
+     * @param y    The Y position to place the tile at.
+     * @param tile The tile to place at that position.
+     */
+    public void setTileDirectly(int x, int y, Tile tile) {
+        tile.setPosition(x, y);
+        insertTile(tile);
+    }
+
+    /**
+     * Queries the number of frontier positions on the board, i.e. empty positions
+     * with at least one adjacent confirmed tile. Valid tile placements can only ever
+     * be at one of these positions.
+     *
+     * @return The number of frontier positions.
+     */
+    public int getFrontierSize() {
+        return this.frontier.size();
+    }
+
+    /**
+     * Queries whether the specified position is on the frontier, i.e. is empty and has
+     * at least one adjacent confirmed tile.
+     *
+     * @param x The X position to query.
+     * @param y The Y position to query.
+     * @return True if the position is on the frontier, false otherwise.
+     */
+    public boolean isOnFrontier(int x, int y) {
+        return this.frontier.get(packPosition(x, y)) != 0;
+    }
+
+    /**
+     * Gets the constraint that the confirmed tiles adjacent to a position put on any
+     * tile placed there. It packs the edge signature required on each side of the
+     * position, which is zero for sides without a tile. See TileDefinition for more
+     * information. Tile.getFittingRotations() turns it into the rotations of a tile
+     * that fit the position.
+     *
+     * @param x The X position to get the constraint of.
+     * @param y The Y position to get the constraint of.
+     * @return The constraint of the position, or zero if it is not on the frontier.
+     */
+    public int getConstraint(int x, int y) {
+        return this.frontier.get(packPosition(x, y));
+    }
+
+    /**
+     * Finds every tile ID that fits a position in some rotation, using the table in
+     * TileDefinition.getFittingTiles(). Together with Deck.getTilesLeft(), this tells
+     * how many of the tiles left could ever fill the position.
+     *
+     * @param x The X position to query.
+     * @param y The Y position to query.
+     * @return The bitmask of tile IDs that fit, where bit N is set if tile 'A' + N
+     *         fits, or zero if the position is not on the frontier.
+     */
+    public int getFittingTiles(int x, int y) {
+        int constraint = getConstraint(x, y);
+        return (constraint == 0) ? 0 : TileDefinition.getFittingTiles(constraint);
+    }
+
+    /**
+     * Gets the index of every city, road, and farm formed by the confirmed tiles on
+     * the board. It does not include the current tile.
+     *
+     * @return The feature graph of the board.
+     */
+    public FeatureGraph getFeatures() {
+        return this.features;
+    }
+
+    /**
+     * Gets the Zobrist hash of the board, which covers the ID, position, and rotation
+     * of every confirmed tile, every meeple on them, and the ID of the current tile.
+     * Boards that are the same have the same hash.
+     *
+     * @return The hash of the board.
+     */
+    public long getHash() {
+        // Make sure the hash was kept up to date in debug builds.
+        assert this.hash == computeHash();
+
+        if (this.currentTile == null) {
+            return this.hash;
+        }
+        return this.hash ^ Zobrist.getCurrentTileKey(this.currentTile.getId());
+    }
+
+    /**
+     * Queries the number of confirmed tiles around and including an occupied cloister,
+     * i.e. a confirmed tile with a meeple on its cloister. The cloister is complete
+     * when this reaches nine.
+     *
+     * @param x The X position of the cloister.
+     * @param y The Y position of the cloister.
+     * @return The number of tiles around the cloister, or zero if there is no occupied
+     *         cloister at that position.
+     */
+    public int getCloisterNeighbors(int x, int y) {
+        return this.occupiedCloisters.get(packPosition(x, y));
+    }
+
+    /**
+     * Removes the meeple from a tile on the board, keeping the meeple counts in the
+     * feature graph and the registry of occupied cloisters up to date. Meeples on
+     * confirmed tiles must always be removed through this method rather than
+     * Tile.removeMeeple().
+     *
+     * Since confirmed tiles may be shared with copies of the board, the tile itself is
+     * left alone and replaced on the board with a copy that has no meeple. References
+     * to the old tile should not be used afterwards.
+     *
+     * @param tile The tile to remove the meeple from.
+     */
+    public void removeMeeple(Tile tile) {
+        assert getConfirmedTile(tile.getX(), tile.getY()) == tile;
+
+        Section meepleSection = tile.getMeepleSection();
+        if (meepleSection == null) {
+            return;
+        }
+
+        long position = packPosition(tile.getX(), tile.getY());
+        if (this.isJournaling) {
+            journal(JOURNAL_MEEPLE_REMOVED, tile,
+                    getCloisterNeighbors(tile.getX(), tile.getY()),
+                    this.features.getJournalMark());
+        }
+
+        this.features.removeMeeple(meepleSection);
+        this.hash ^= getMeepleKey(tile);
+
+        if (meepleSection.getType() == Tile.TYPE_CLOISTER) {
+            this.occupiedCloisters.remove(position);
+        }
+
+        Tile copy = new Tile(tile);
+        copy.removeMeeple();
+
+        this.tiles.put(position, copy);
+        this.features.relinkTile(copy);
+    }
+
+    /**
+     * Checks that the feature graph agrees with a full flood fill analysis of the
+     * feature containing the specified section. It is as slow as the analysis, so it
+     * is only meant to be used in assertions.
+     *
+     * @param section The section to check the feature of. It must be a city or road
+     *                section on a confirmed tile.
+     * @return True if the feature graph and the analysis agree, false otherwise.
+     */
+    public boolean isFeatureConsistent(Section section) {
+        PartMeepleAnalysis analysis = (PartMeepleAnalysis)MeepleAnalysis.create(this, section);
+        int feature = this.features.getFeature(section);
+
+        int[] analysisMeeples = new int[CarcassonneGameState.MAX_PLAYERS];
+        for (Section visited : analysis.getVisitedSections()) {
+            if (visited.hasMeeple()) {
+                analysisMeeples[visited.getOwner()]++;
+            }
+        }
+
+        for (int i = 0; i < CarcassonneGameState.MAX_PLAYERS; i++) {
+            if (analysisMeeples[i] != this.features.getNumMeeples(feature, i)) {
+                return false;
+            }
+        }
+
+        int score = this.features.getNumTiles(feature);
+        if (section.getType() == Tile.TYPE_CITY) {
+            score += this.features.getNumPennants(feature);
+            if (this.features.isClosed(feature)) {
+                score *= 2;
+            }
+        }
+
+        return analysis.isClosed() == this.features.isClosed(feature) &&
+                analysis.getVisitedSections().size() ==
+                        this.features.getNumSections(feature) &&
+                analysis.getScore() == score;
+    }
+
+    /**
+     * Checks if the specified position has an adjacent tile in any of the four
+     * cardinal directions. There does not need to be a tile at the specified position.
+     *
+     * @param x The X position to check for adjacent tiles around.
+     * @param y The Y position to check for adjacent tiles around.
+     * @return True if there is an adjacent tile, false otherwise.
+     */
+    public boolean hasAdjacentTile(int x, int y) {
+        return getTile(x, y - 1) != null ||
+                getTile(x + 1, y) != null ||
+                getTile(x, y + 1) != null ||
+                getTile(x - 1, y) != null;
+    }
+
+    /**
+     * Returns the tile currently being placed, or null if there is no such tile.
+     *
+     * @return The tile currently being placed.
+     */
+    public Tile getCurrentTile() {
+        return this.currentTile;
+    }
+
+    /**
+     * Sets the tile currently being placed to a new tile. The tile should have no
+     * position yet, i.e. an X and Y position of Tile.NO_POSITION.
+     *
+     * @param tile The tile to set as the current tile.
+     */
+    public void setCurrentTile(Tile tile) {
+        if (this.isJournaling) {
+            journal(JOURNAL_CURRENT_TILE, this.currentTile);
+        }
+        this.currentTile = tile;
+    }
+
+    /**
+     * Confirms the current tile placement, moving the current tile into the board and
+     * growing the bounds of the board if necessary. The current tile is then set to
+     * null. No other tile changes position.
+     *
+     * It is an error if the current tile placement or meeple placement on the tile
+     * are invalid. They can be checked with isCurrentPlacementValid().
+     */
+    public void confirmCurrentTile() {
+        // Ensure the tile is valid so we don't run into bugs later.
+        assert isCurrentPlacementValid();
+
+        insertTile(this.currentTile);
+
+        // Reset the current tile to null.
+        setCurrentTile(null);
+    }
+
+    /**
+     * Starts or stops recording changes to the board and its feature graph in the
+     * journal. Either way, the journal is emptied, so earlier marks can no longer be
+     * rolled back to.
+     *
+     * @param isJournaling Whether to record changes from now on.
+     */
+    public void setJournaling(boolean isJournaling) {
+        if (isJournaling && this.journal == null) {
+            this.journal = new int[INITIAL_JOURNAL_CAPACITY];
+            this.journalTiles = new ArrayList<>();
+        }
+
+        this.isJournaling = isJournaling;
+        this.journalSize = 0;
+        if (this.journalTiles != null) {
+            this.journalTiles.clear();
+        }
+
+        this.features.setJournaling(isJournaling);
+    }
+
+    /**
+     * Gets a mark for the current state of the board, which can be rolled back to with
+     * rollback() as long as journaling stays on.
+     *
+     * @return The mark of the current state.
+     */
+    public int getJournalMark() {
+        return this.journalSize;
+    }
+
+    /**
+     * Undoes every change recorded in the journal since a mark was gotten, in reverse
+     * order: tiles are taken back off the board, meeples are put back, and the current
+     * tile is restored. Tiles taken off the board keep their position, rotation, and
+     * meeple, which are up to the caller to reset.
+     *
+     * @param mark The mark to roll back to, from getJournalMark().
+     */
+    public void rollback(int mark) {
+        while (this.journalSize > mark) {
+            int kind = this.journal[--this.journalSize];
+            Tile tile = this.journalTiles.remove(this.journalTiles.size() - 1);
+
+            switch (kind) {
+                case JOURNAL_CURRENT_TILE:
+                    this.currentTile = tile;
+                    break;
+                case JOURNAL_MEEPLE_REMOVED: {
+                    this.features.rollback(this.journal[--this.journalSize]);
+
+                    long position = packPosition(tile.getX(), tile.getY());
+                    int neighbors = this.journal[--this.journalSize];
+                    if (neighbors != 0) {
+                        this.occupiedCloisters.put(position, neighbors);
+                    }
+
+                    // Put the tile with the meeple back in place of its copy.
+                    this.tiles.put(position, tile);
+                    this.features.relinkTile(tile);
+                    this.hash ^= getMeepleKey(tile);
+                    break;
+                }
+                default:
+                    assert kind == JOURNAL_INSERT;
+                    removeTile(tile);
+                    break;
+            }
+        }
+    }
+
+
+    /**
+     * Queries whether the position of the current tile is valid. This is subject to
+     * three requirements:
+     * - The tile is in bounds for the board and does not overlap with an existing tile.
+     * - The tile has at least one adjacent tile.
+     * - All adjacent tiles match up with the current tile.
+     *
+     * @return True if the current tile placement is valid, false otherwise.
+     */
+    public boolean isCurrentTilePlacementValid() {
+        boolean valid = isTilePlacementValid(this.currentTile, this.currentTile.getX(),
+                this.currentTile.getY(), this.currentTile.getRotation());
+
+        // Make sure it agrees with comparing the parts of each adjacent tile in debug
+        // builds. Refer to the documentation for Tile for the meaning of the magical
+        // part constants.
+        assert valid == (
+                isAdjacentValid(0, -1, 0, 1, 0) &&
+                isAdjacentValid(1,  0, 2, 3, 1) &&
+                isAdjacentValid(0,  1, 4, 5, 2) &&
+                isAdjacentValid(-1, 0, 6, 7, 3));
+
+        return valid;
+    }
+
+    /**
+     * Queries whether the meeple placement on the current tile is valid. If there is
+     * no meeple, it is always valid. It is an error if the current tile placement is
+     * invalid.
+     *
+     * @return True if the meeple placement is valid, false otherwise.
+     */
+    public boolean isCurrentMeeplePlacementValid() {
+        // Ensure the tile placement is valid so we don't run into weird bugs in
+        // the meeple placement code.
+        assert isCurrentTilePlacementValid();
+
+        // It's always valid if there's no meeple.
+        Section meepleSection = this.currentTile.getMeepleSection();
+        if (meepleSection == null) {
+            return true;
+        }
+
+        // Otherwise, look up the features that the section would join in the feature
+        // graph. Make sure it agrees with the full analysis in debug builds.
+        boolean valid = isMeeplePlacementValid(this.currentTile, this.currentTile.getX(),
+                this.currentTile.getY(), this.currentTile.getRotation(),
+                meepleSection.getIndex());
+        assert valid == MeepleAnalysis.create(this, meepleSection).isMeepleValid();
+
+        return valid;
+    }
+
+    /**
+     * Queries whether a tile could be placed at some position and rotation, i.e.
+     * whether the position is on the frontier and the tile's edges at that rotation
+     * match every adjacent tile. This is the same check as
+     * isCurrentTilePlacementValid(), but for any hypothetical placement. It never
+     * modifies the tile or the board, so it is safe to call from several threads at
+     * once as long as nothing modifies the board meanwhile.
+     *
+     * @param tile     The tile to place. It need not be the current tile.
+     * @param x        The X position to place the tile at.
+     * @param y        The Y position to place the tile at.
+     * @param rotation The rotation to place the tile at, in degrees.
+     * @return True if the placement is valid, false otherwise.
+     */
+    public boolean isTilePlacementValid(Tile tile, int x, int y, int rotation) {
+        // Only frontier positions are in bounds, empty, and adjacent to a tile;
+        // anywhere else is never valid.
+        int constraint = this.frontier.get(packPosition(x, y));
+        if (constraint == 0) {
+            return false;
+        }
+
+        // Look up whether the edges of the rotation fit the adjacent tiles.
+        return (tile.getFittingRotations(constraint) & (1 << (rotation / 90))) != 0;
+    }
+
+    /**
+     * Queries whether a meeple could be placed on a section of a tile if the tile were
+     * placed at some position and rotation, i.e. whether none of the features that
+     * the section would join have meeples. This is the same check as
+     * isCurrentMeeplePlacementValid(), but for any hypothetical placement. It never
+     * modifies the tile or the board, so it is safe to call from several threads at
+     * once as long as nothing modifies the board meanwhile. It is an error if the tile
+     * placement is invalid.
+     *
+     * @param tile         The tile to place. It need not be the current tile.
+     * @param x            The X position to place the tile at.
+     * @param y            The Y position to place the tile at.
+     * @param rotation     The rotation to place the tile at, in degrees.
+     * @param sectionIndex The index of the section to put the meeple on, or
+     *                     MoveList.NO_SECTION for no meeple, which is always valid.
+     * @return True if the meeple placement is valid, false otherwise.
+     */
+    public boolean isMeeplePlacementValid(Tile tile, int x, int y, int rotation,
+                                          int sectionIndex) {
+        if (sectionIndex == MoveList.NO_SECTION) {
+            return true;
+        }
+
+        return isFeatureFreeOfMeeples(tile, tile.getLayout(rotation), x, y,
+                tile.getSectionFromIndex(sectionIndex), FEATURE_SCRATCH.get());
+    }
+
+    /**
+     * Queries whether a packed move of a tile is valid, both for the tile and for the
+     * meeple, if any. It never modifies the tile or the board, as in
+     * isTilePlacementValid() and isMeeplePlacementValid().
+     *
+     * @param tile The tile to place. It need not be the current tile.
+     * @param move The packed move, as in MoveList.
+     * @return True if the move is valid, false otherwise.
+     */
+    public boolean isPlacementValid(Tile tile, long move) {
+        int x = MoveList.getX(move);
+        int y = MoveList.getY(move);
+        int rotation = MoveList.getRotation(move);
+
+        return isTilePlacementValid(tile, x, y, rotation) &&
+                isMeeplePlacementValid(tile, x, y, rotation,
+                        MoveList.getSectionIndex(move));
+    }
+
+    /**
+     * Convenience function to check if both tile and meeple placements are valid.
+     *
+     * @return True if everything is valid, false otherwise.
+     */
+    public boolean isCurrentPlacementValid() {
+        return isCurrentTilePlacementValid() && isCurrentMeeplePlacementValid();
+    }
+
+    /**
+     * Represents a single position and rotation of the current tile on the board.
+     */
+    public static class TilePlacement {
+        /** The X position of this placement. */
+        public int x;
+        /** The Y position of this placement. */
+        public int y;
+
+        /** The tile rotation of this placement. */
+        public int rotation;
+
+        /**
+         * The section on the tile to place the meeple at for this placement. Only
+         * meaningful for getValidMeeplePlacements(); it is null for
+         * getValidTilePlacements().
+         */
+        public Section meepleSection;
+
+        /**
+         * Constructor; just fills in the data values of the same name.
+         *
+         * @param x        The X position of this placement.
+         * @param y        The Y position of this placement.
+         * @param rotation The tile rotation of this placement.
+         */
+        public TilePlacement(int x, int y, int rotation) {
+            this.x = x;
+            this.y = y;
+            this.rotation = rotation;
+            this.meepleSection = null;
+        }
+
+        /**
+         * Create a new tile placement that is a copy of another one.
+         *
+         * @param other The tile placement to make a copy of.
+         */
+        public TilePlacement(TilePlacement other) {
+            this.x = other.x;
+            this.y = other.y;
+            this.rotation = other.rotation;
+            this.meepleSection = other.meepleSection;
+        }
+    }
+
+    /**
+     * Searches through every frontier position on the board and creates an array of
+     * all valid positions and rotations that the current tile can be placed in. See
+     * getValidTilePlacements(MoveList) for details.
+     *
+     * @return An array of all valid placements of the current tile. Each tile will
+     *         have a meepleSection of null. The array may be empty if the current
+     *         tile cannot be placed anywhere.
+     */
+    public ArrayList<TilePlacement> getValidTilePlacements() {
+        MoveList moves = new MoveList();
+        getValidTilePlacements(moves);
+        return toTilePlacements(moves);
+    }
+
+    /**
+     * Searches through every frontier position on the board and fills a move list with
+     * all valid positions and rotations that the current tile can be placed in. See
+     * visitValidTilePlacements() for details.
+     *
+     * @param moves The move list to fill. It is cleared first. Every move will have no
+     *              meeple section, and the list may be left empty if the current tile
+     *              cannot be placed anywhere.
+     */
+    public void getValidTilePlacements(MoveList moves) {
+        moves.clear();
+        visitValidTilePlacements((move) -> {
+            moves.add(move);
+            return true;
+        });
+    }
+
+    /**
+     * Queries whether the current tile can be placed anywhere on the board, i.e.
+     * whether getValidTilePlacements() would be non-empty. It stops at the first
+     * frontier position with a fitting rotation and doesn't build any placements, so
+     * it should be used whenever only the existence of a placement matters.
+     *
+     * @return True if there is at least one valid placement of the current tile,
+     *         false otherwise.
+     */
+    public boolean hasValidTilePlacement() {
+        for (int i = 0; i < this.frontier.getCapacity(); i++) {
+            int constraint = this.frontier.getValueAt(i);
+            if (constraint != 0 &&
+                    this.currentTile.getFittingRotations(constraint) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches through every valid tile placement (gotten with getValidTilePlacements())
+     * and creates an array of all the valid meeple placements on those tiles.
+     *
+     * @return An array of all valid meeple placements of the current tile. It may be
+     *         empty if there are no valid meeple placements.
+     */
+    public ArrayList<TilePlacement> getValidMeeplePlacements() {
+        MoveList moves = new MoveList();
+        getValidMeeplePlacements(moves);
+        return toTilePlacements(moves);
+    }
+
+    /**
+     * Searches through every valid tile placement and fills a move list with all the
+     * valid meeple placements on those tiles. See visitValidMeeplePlacements() for
+     * details.
+     *
+     * @param moves The move list to fill. It is cleared first. Every move will have a
+     *              meeple section, and the list may be left empty if there are no
+     *              valid meeple placements.
+     */
+    public void getValidMeeplePlacements(MoveList moves) {
+        moves.clear();
+        visitValidMeeplePlacements((move) -> {
+            moves.add(move);
+            return true;
+        });
+    }
+
+    /**
+     * An interface for the lambdas passed to visitValidTilePlacements() and
+     * visitValidMeeplePlacements() to consume each placement as it is found.
+     */
+    public interface PlacementVisitor {
+        /**
+         * Consumes a single placement. The current tile is not moved to the
+         * placement, so the visitor should inspect it with the side-effect-free
+         * queries like isPlacementValid(). Neither the current tile nor the board may
+         * be modified while visiting.
+         *
+         * @param move The placement, packed as a MoveList move.
+         * @return True to continue to the next placement, false to stop.
+         */
+        boolean visit(long move);
+    }
+
+    /**
+     * Finds every valid position and rotation that the current tile can be placed in,
+     * passing each to a visitor as it is found, until the visitor asks to stop.
+     * Positions not on the frontier can never be valid, so they are skipped entirely,
+     * and the fitting rotations at each position are looked up from its constraint.
+     * Placements are found in the same order as getValidTilePlacements() lists them.
+     * It ignores meeples on the current tile. It never modifies the current tile or
+     * the board, so several threads may visit placements at once.
+     *
+     * @param visitor The lambda to pass each placement to. Every placement will have
+     *                no meeple section.
+     * @return True if the visitor stopped early, false if every placement was visited.
+     */
+    public boolean visitValidTilePlacements(PlacementVisitor visitor) {
+        return visitPlacements(visitor, false);
+    }
+
+    /**
+     * Finds every valid meeple placement on every valid tile placement, passing each
+     * to a visitor as it is found, until the visitor asks to stop. Placements are
+     * found in the same order as getValidMeeplePlacements() lists them. It never
+     * modifies the current tile or the board, so several threads may visit
+     * placements at once.
+     *
+     * @param visitor The lambda to pass each placement to. Every placement will have
+     *                a meeple section.
+     * @return True if the visitor stopped early, false if every placement was visited.
+     */
+    public boolean visitValidMeeplePlacements(PlacementVisitor visitor) {
+        return visitPlacements(visitor, true);
+    }
+
+    /**
+     * Helper method for visitValidTilePlacements() and visitValidMeeplePlacements()
+     * that actually does the work, returning as soon as the visitor asks to stop.
+     *
+     * @param visitor     The lambda to pass each placement to.
+     * @param withMeeples True to visit meeple placements, false for tile placements.
+     * @return True if the visitor stopped early, false otherwise.
+     */
+    private boolean visitPlacements(PlacementVisitor visitor, boolean withMeeples) {
+        Tile tile = this.currentTile;
+        int origTurns = tile.getRotation() / 90;
+        FeatureScratch scratch = withMeeples ? FEATURE_SCRATCH.get() : null;
+
+        // Loop through every frontier position and find the rotations that fit it.
+        for (int slot = 0; slot < this.frontier.getCapacity(); slot++) {
+            int constraint = this.frontier.getValueAt(slot);
+            if (constraint == 0) {
+                continue;
+            }
+
+            int x = unpackX(this.frontier.getKeyAt(slot));
+            int y = unpackY(this.frontier.getKeyAt(slot));
+            int rotations = tile.getFittingRotations(constraint);
+
+            // Visit the rotations starting a quarter turn past the original one,
+            // which is the order that rotating the tile would find them in.
+            for (int i = 1; i <= 4; i++) {
+                int turns = (origTurns + i) % 4;
+                if ((rotations & (1 << turns)) == 0) {
+                    continue;
+                }
+
+                long tilePlacement = MoveList.pack(x, y, turns * 90, MoveList.NO_SECTION);
+
+                if (!withMeeples) {
+                    if (!visitor.visit(tilePlacement)) {
+                        return true;
+                    }
+                    continue;
+                }
+
+                // Loop over its sections and visit the valid meeple placements.
+                TileDefinition.Layout layout = tile.getLayout(turns * 90);
+                for (Section section : tile.getSections()) {
+                    if (isFeatureFreeOfMeeples(tile, layout, x, y, section, scratch) &&
+                            !visitor.visit(tilePlacement | (section.getIndex() + 1))) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Converts a list of moves for the current tile to an array of tile placements.
+     *
+     * @param moves The moves to convert.
+     * @return The array of tile placements, with the meeple section of each set to
+     *         the section of the current tile, or null if the move has no meeple.
+     */
+    private ArrayList<TilePlacement> toTilePlacements(MoveList moves) {
+        ArrayList<TilePlacement> placements = new ArrayList<>(moves.size());
+
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+
+            TilePlacement placement = new TilePlacement(MoveList.getX(move),
+                    MoveList.getY(move), MoveList.getRotation(move));
+
+            int sectionIndex = MoveList.getSectionIndex(move);
+            if (sectionIndex != MoveList.NO_SECTION) {
+                placement.meepleSection =
+                        this.currentTile.getSectionFromIndex(sectionIndex);
+            }
+
+            placements.add(placement);
+        }
+
+        return placements;
+    }
+
+    /**
+     * Converts the deck to a string representation showing all instance variables
+     * and the positions of all tiles on the board.
+     *
+     * @return The string representation of the board and all its tiles.
+     */
+    @Override
+    public String toString() {
+        ToStringer toStr = new ToStringer("Board");
+
+        toStr.add("currentTile", this.currentTile);
+
+        toStr.add("getMinX()", getMinX());
+        toStr.add("getMinY()", getMinY());
+        toStr.add("getWidth()", getWidth());
+        toStr.add("getHeight()", getHeight());
+
+        for (int y = getMinY(); y < getMinY() + getHeight(); y++) {
+            for (int x = getMinX(); x < getMinX() + getWidth(); x++) {
+                // Add the string of each non-null tile on the board.
+                Tile tile = getConfirmedTile(x, y);
+                if (tile != null) {
+                    toStr.add("tiles[" + y + "][" + x + "]", tile);
+                }
+            }
+        }
+
+        return toStr.toString();
+    }
+
+    /**
+     * Creates a new board with a single tile at (1, 1) and the empty border.
+     *
+     * @param startingTile The tile to place in the middle of the board. It should
+     *                     be retrieved with Deck.drawStartingTile().
+     */
+    public Board(Tile startingTile) {
+        this.tiles = new LongTileMap();
+        this.frontier = new LongIntMap();
+        this.features = new FeatureGraph();
+        this.occupiedCloisters = new LongIntMap();
+        this.hash = 0;
+
+        this.isJournaling = false;
+        this.journal = null;
+        this.journalSize = 0;
+        this.journalTiles = null;
+
+        // The bounds start out empty and grow to fit the starting tile when it is
+        // placed.
+        this.minTileX = Integer.MAX_VALUE;
+        this.minTileY = Integer.MAX_VALUE;
+        this.maxTileX = Integer.MIN_VALUE;
+        this.maxTileY = Integer.MIN_VALUE;
+
+        // Place the starting tile on the board. It's always valid, so we can set
+        // it directly.
+        setTileDirectly(1, 1, startingTile);
+
+        this.currentTile = null;
+    }
+
+    /**
+     * Creates a new board that is a copy of another board. The confirmed tiles are
+     * shared, along with the chunks of the tile map, frontier, feature graph and
+     * cloister registry until either board modifies them, so this takes constant time.
+     * Only the current tile is copied right away.
+     *
+     * While the other board is journaling, the tiles it inserted may still be modified
+     * by rolling it back, so the tiles and feature graph are deep copied instead.
+     *
+     * @param other The board to make a copy of.
+     */
+    public Board(Board other) {
+        if (other.isJournaling) {
+            this.tiles = new LongTileMap(other.tiles, Tile::new);
+            this.features = new FeatureGraph(other.features, this.tiles);
+        } else {
+            this.tiles = new LongTileMap(other.tiles);
+            this.features = new FeatureGraph(other.features);
+        }
+
+        // The frontier and cloister registry only hold ints, so they can always be
+        // shared.
+        this.frontier = new LongIntMap(other.frontier);
+        this.occupiedCloisters = new LongIntMap(other.occupiedCloisters);
+
+        this.minTileX = other.minTileX;
+        this.minTileY = other.minTileY;
+        this.maxTileX = other.maxTileX;
+        this.maxTileY = other.maxTileY;
+        this.hash = other.hash;
+
+        // The copy starts out with an empty journal, so it can't be rolled back.
+        this.isJournaling = false;
+        this.journal = null;
+        this.journalSize = 0;
+        this.journalTiles = null;
+
+        this.currentTile = Util.copyOrNull(other.currentTile, Tile::new);
+    }
+
+    /**
+     * Checks if the borders of the current tile and the adjacent tile at the specified
+     * offset match up. If there is no tile at that adjacent position, returns true
+     * since blank tiles always "match". This is a helper method for
+     * isCurrentTilePlacementValid().
+     *
+     * @param xOffset    The X offset from the current tile to the adjacent tile.
+     * @param yOffset    The Y offset from the current tile to the adjacent tile.
+     * @param firstPart  One tile part on the current tile to validate with the adjacent
+     *                   tile's tile part on the opposite side.
+     * @param secondPart The other tile part on the current tile to validate with the
+     *                   adjacent tile's tile part on the opposite side.
+     * @param roadPart   The road part on the current tile to validate with the adjacent
+     *                   tile's road part on the opposite side.
+     */
+    private boolean isAdjacentValid(int xOffset, int yOffset, int firstPart, int secondPart,
+                                    int roadPart) {
+        Tile tile = getConfirmedTile(this.currentTile.getX() + xOffset,
+                this.currentTile.getY() + yOffset);
+        if (tile == null) {
+            // There's no tile, so it's automatically valid in that direction.
+            return true;
+        }
+
+        // Check whether the types of sections match up, i.e. farm to farm and
+        // city to city, and then check for roads matching up.
+        return this.currentTile.getSection(firstPart).getType() ==
+                        tile.getSection(Tile.flipPart(firstPart)).getType() &&
+                this.currentTile.getSection(secondPart).getType() ==
+                        tile.getSection(Tile.flipPart(secondPart)).getType() &&
+                this.currentTile.hasRoad(roadPart) ==
+                        tile.hasRoad(Tile.flipRoadPart(roadPart));
+    }
+
+    /**
+     * Inserts a tile into the board at its own position, growing the bounds of the
+     * board to fit it and updating the frontier.
+     *
+     * @param tile The tile to insert. Its position must already be set.
+     */
+    private void insertTile(Tile tile) {
+        int x = tile.getX();
+        int y = tile.getY();
+
+        // Tiles can never be replaced since the feature graph can only remove them by
+        // rolling back.
+        assert getConfirmedTile(x, y) == null;
+
+        if (this.isJournaling) {
+            journal(JOURNAL_INSERT, tile, this.minTileX, this.minTileY, this.maxTileX,
+                    this.maxTileY, this.frontier.get(packPosition(x, y)),
+                    this.features.getJournalMark());
+        }
+
+        this.tiles.put(packPosition(x, y), tile);
+        this.hash ^= getTileKey(tile);
+        if (tile.hasMeeple()) {
+            this.hash ^= getMeepleKey(tile);
+        }
+
+        this.minTileX = Math.min(this.minTileX, x);
+        this.minTileY = Math.min(this.minTileY, y);
+        this.maxTileX = Math.max(this.maxTileX, x);
+        this.maxTileY = Math.max(this.maxTileY, y);
+
+        // Add the tile's sections to the feature graph and connect them to the
+        // sections on each adjacent side. Refer to the documentation for Tile for
+        // the meaning of the magical part constants.
+        this.features.addTile(tile);
+
+        connectFeatures(tile, 0, -1, 0, 1, 0);
+        connectFeatures(tile, 1,  0, 2, 3, 1);
+        connectFeatures(tile, 0,  1, 4, 5, 2);
+        connectFeatures(tile, -1, 0, 6, 7, 3);
+
+        // The new tile is a neighbor of each occupied cloister around it.
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                long position = packPosition(x + dx, y + dy);
+                int neighbors = this.occupiedCloisters.get(position);
+
+                if (neighbors != 0 && (dx != 0 || dy != 0)) {
+                    this.occupiedCloisters.put(position, neighbors + 1);
+                }
+            }
+        }
+
+        // If the new tile has a meeple on its cloister, register it with the number of
+        // tiles already around it.
+        if (tile.getMeepleType() == Tile.TYPE_CLOISTER) {
+            int neighbors = 0;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (getConfirmedTile(x + dx, y + dy) != null) {
+                        neighbors++;
+                    }
+                }
+            }
+
+            this.occupiedCloisters.put(packPosition(x, y), neighbors);
+        }
+
+        updateFrontier(tile);
+    }
+
+    /**
+     * Takes the most recently inserted tile back off the board, undoing everything
+     * insertTile() did in reverse order using the entry it journaled, whose ints must
+     * be the next ones in the journal. This is a helper method for rollback().
+     *
+     * @param tile The tile to remove.
+     */
+    private void removeTile(Tile tile) {
+        int x = tile.getX();
+        int y = tile.getY();
+
+        // Take the tile's position back from its neighbors on the frontier, and put it
+        // back on with its old constraint.
+        removeFromFrontier(x, y - 1, 2);
+        removeFromFrontier(x + 1, y, 3);
+        removeFromFrontier(x, y + 1, 0);
+        removeFromFrontier(x - 1, y, 1);
+
+        int featureMark = this.journal[--this.journalSize];
+        int constraint = this.journal[--this.journalSize];
+        if (constraint != 0) {
+            this.frontier.put(packPosition(x, y), constraint);
+        }
+
+        // The tile is no longer a neighbor of the occupied cloisters around it.
+        if (tile.getMeepleType() == Tile.TYPE_CLOISTER) {
+            this.occupiedCloisters.remove(packPosition(x, y));
+        }
+
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                long position = packPosition(x + dx, y + dy);
+                int neighbors = this.occupiedCloisters.get(position);
+
+                if (neighbors != 0 && (dx != 0 || dy != 0)) {
+                    this.occupiedCloisters.put(position, neighbors - 1);
+                }
+            }
+        }
+
+        this.features.rollback(featureMark);
+
+        this.maxTileY = this.journal[--this.journalSize];
+        this.maxTileX = this.journal[--this.journalSize];
+        this.minTileY = this.journal[--this.journalSize];
+        this.minTileX = this.journal[--this.journalSize];
+
+        this.tiles.remove(packPosition(x, y));
+        this.hash ^= getTileKey(tile);
+        if (tile.hasMeeple()) {
+            this.hash ^= getMeepleKey(tile);
+        }
+    }
+
+    /**
+     * Recomputes the hash of the confirmed tiles and meeples on the board from scratch.
+     * This is only used to check the incrementally updated hash in assertions.
+     *
+     * @return The hash of the board, not including the current tile.
+     */
+    private long computeHash() {
+        long hash = 0;
+        for (int i = 0; i < this.tiles.getCapacity(); i++) {
+            Tile tile = this.tiles.getValueAt(i);
+            if (tile == null) {
+                continue;
+            }
+
+            hash ^= getTileKey(tile);
+            if (tile.hasMeeple()) {
+                hash ^= getMeepleKey(tile);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the Zobrist key of a confirmed tile.
+     *
+     * @param tile The tile to get the key of.
+     * @return The key of the tile.
+     */
+    private static long getTileKey(Tile tile) {
+        return Zobrist.getTileKey(tile.getX(), tile.getY(), tile.getId(),
+                tile.getRotation());
+    }
+
+    /**
+     * Gets the Zobrist key of the meeple on a confirmed tile.
+     *
+     * @param tile The tile with the meeple. It must have a meeple.
+     * @return The key of the meeple.
+     */
+    private static long getMeepleKey(Tile tile) {
+        return Zobrist.getMeepleKey(tile.getX(), tile.getY(),
+                tile.getMeepleSection().getIndex(), tile.getOwner());
+    }
+
+    /**
+     * Records a change to the board in the journal, which must be on.
+     *
+     * @param kind   The kind of change, one of the JOURNAL constants.
+     * @param tile   The tile of the change.
+     * @param values The ints of the change.
+     */
+    private void journal(int kind, Tile tile, int... values) {
+        int size = this.journalSize + values.length + 1;
+        if (size > this.journal.length) {
+            this.journal = Arrays.copyOf(this.journal,
+                    Math.max(this.journal.length * 2, size));
+        }
+
+        for (int value : values) {
+            this.journal[this.journalSize++] = value;
+        }
+        this.journal[this.journalSize++] = kind;
+
+        this.journalTiles.add(tile);
+    }
+
+    /**
+     * Connects the sections on one side of a newly inserted tile to the sections of
+     * the adjacent tile on that side in the feature graph, if there is one. This is a
+     * helper method for insertTile().
+     *
+     * @param tile       The tile being inserted.
+     * @param xOffset    The X offset from the tile to the adjacent tile.
+     * @param yOffset    The Y offset from the tile to the adjacent tile.
+     * @param firstPart  One tile part on this side of the tile.
+     * @param secondPart The other tile part on this side of the tile.
+     * @param roadPart   The road part on this side of the tile.
+     */
+    private void connectFeatures(Tile tile, int xOffset, int yOffset, int firstPart,
+                                 int secondPart, int roadPart) {
+        Tile other = getConfirmedTile(tile.getX() + xOffset, tile.getY() + yOffset);
+        if (other == null) {
+            return;
+        }
+
+        this.features.connect(tile.getSection(firstPart),
+                other.getSection(Tile.flipPart(firstPart)));
+        this.features.connect(tile.getSection(secondPart),
+                other.getSection(Tile.flipPart(secondPart)));
+
+        if (tile.hasRoad(roadPart)) {
+            this.features.connect(tile.getRoadSection(roadPart),
+                    other.getRoadSection(Tile.flipRoadPart(roadPart)));
+        }
+    }
+
+    /**
+     * Checks whether the feature that a section of a tile would be part of if the tile
+     * were placed has no meeples on it. This is a helper method for
+     * isMeeplePlacementValid().
+     *
+     * The section joins the features on the adjacent tiles that it touches. Those
+     * features may in turn touch other sections of the tile of the same type, which
+     * then join as well along with the features that they touch.
+     *
+     * @param tile    The tile being placed.
+     * @param layout  The layout of the tile at the rotation it is being placed at.
+     * @param x       The X position the tile is being placed at.
+     * @param y       The Y position the tile is being placed at.
+     * @param section The section of the tile to check.
+     * @param scratch The scratch arrays of the current thread, from FEATURE_SCRATCH.
+     * @return True if none of the features that the section would join have any
+     *         meeples, false otherwise.
+     */
+    private boolean isFeatureFreeOfMeeples(Tile tile, TileDefinition.Layout layout,
+                                           int x, int y, Section section,
+                                           FeatureScratch scratch) {
+        // Cloisters are never connected to anything.
+        int type = section.getType();
+        if (type == Tile.TYPE_CLOISTER) {
+            return true;
+        }
+
+        // Start with the features that the section itself touches.
+        int[] joined = scratch.joined;
+        int numJoined = addAdjacentFeatures(layout, x, y, section, joined, 0);
+
+        // Collect the other sections of the same type that might join in too as a
+        // bitmask of their indices.
+        int others = 0;
+        for (Section other : tile.getSections()) {
+            if (other != section && other.getType() == type) {
+                others |= 1 << other.getIndex();
+            }
+        }
+
+        // Keep adding sections that touch any of the joined features until there are
+        // none left to add.
+        int[] touched = scratch.touched;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (int rest = others; rest != 0; rest &= rest - 1) {
+                int index = Integer.numberOfTrailingZeros(rest);
+                int numTouched = addAdjacentFeatures(layout, x, y,
+                        tile.getSectionFromIndex(index), touched, 0);
+
+                if (containsAny(joined, numJoined, touched, numTouched)) {
+                    for (int j = 0; j < numTouched; j++) {
+                        numJoined = Util.addUnique(joined, numJoined, touched[j]);
+                    }
+
+                    others &= ~(1 << index);
+                    changed = true;
+                    break;
+                }
+            }
+        }
+
+        // Finally, check each feature for meeples.
+        for (int i = 0; i < numJoined; i++) {
+            if (this.features.getMostMeeples(joined[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The scratch arrays used by isFeatureFreeOfMeeples(). Each tile has at most eight
+     * parts, so a section can touch at most eight features.
+     */
+    private static final class FeatureScratch {
+        /** The features that the section would join. */
+        final int[] joined = new int[8];
+        /** The features touched by another section of the tile. */
+        final int[] touched = new int[8];
+    }
+
+    /**
+     * Adds the features on adjacent confirmed tiles that a section of the current tile
+     * touches to an array of features, skipping any that are already in it. These
+     * are the features that the section will be merged with once the tile is placed.
+     *
+     * @param section     The section of the current tile.
+     * @param features    The array of features to add to.
+     * @param numFeatures The number of features already in the array.
+     * @return The new number of features in the array.
+     */
+    public int addAdjacentFeatures(Section section, int[] features, int numFeatures) {
+        Tile tile = section.getParent();
+        return addAdjacentFeatures(tile.getLayout(), tile.getX(), tile.getY(), section,
+                features, numFeatures);
+    }
+
+    /**
+     * Adds the features on adjacent confirmed tiles that a section of a tile would
+     * touch if the tile were placed to an array of features, skipping any that are
+     * already in it. It never modifies the board, not even to compress paths in the
+     * feature graph.
+     *
+     * @param layout      The layout of the tile at the rotation it is being placed at.
+     * @param x           The X position the tile is being placed at.
+     * @param y           The Y position the tile is being placed at.
+     * @param section     The section of the tile.
+     * @param features    The array of features to add to.
+     * @param numFeatures The number of features already in the array.
+     * @return The new number of features in the array.
+     */
+    private int addAdjacentFeatures(TileDefinition.Layout layout, int x, int y,
+                                    Section section, int[] features, int numFeatures) {
+        boolean isRoad = section.getType() == Tile.TYPE_ROAD;
+
+        for (int parts = layout.getSectionParts(section.getIndex()); parts != 0;
+                parts &= parts - 1) {
+            int part = Integer.numberOfTrailingZeros(parts);
+            Tile other;
+            Section otherSection;
+
+            if (isRoad) {
+                other = getConfirmedTile(x + Tile.roadPartXOffset(part),
+                        y + Tile.roadPartYOffset(part));
+                otherSection = (other == null) ? null :
+                        other.getRoadSection(Tile.flipRoadPart(part));
+            } else {
+                other = getConfirmedTile(x + Tile.partXOffset(part),
+                        y + Tile.partYOffset(part));
+                otherSection = (other == null) ? null :
+                        other.getSection(Tile.flipPart(part));
+            }
+
+            if (otherSection != null && otherSection.getType() == section.getType()) {
+                numFeatures = Util.addUnique(features, numFeatures,
+                        this.features.findFeature(otherSection));
+            }
+        }
+
+        return numFeatures;
+    }
+
+    /**
+     * Checks whether two arrays have any value in common.
+     *
+     * @param first     The first array.
+     * @param numFirst  The number of values in the first array.
+     * @param second    The second array.
+     * @param numSecond The number of values in the second array.
+     * @return True if any value is in both arrays, false otherwise.
+     */
+    private static boolean containsAny(int[] first, int numFirst, int[] second,
+                                       int numSecond) {
+        for (int i = 0; i < numFirst; i++) {
+            for (int j = 0; j < numSecond; j++) {
+                if (first[i] == second[j]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the frontier after a tile has been placed. The tile's position itself is
+     * removed from the frontier and every empty position adjacent to it is added,
+     * constrained to fit the edge of the tile facing it.
+     *
+     * @param tile The newly placed tile.
+     */
+    private void updateFrontier(Tile tile) {
+        int x = tile.getX();
+        int y = tile.getY();
+
+        this.frontier.remove(packPosition(x, y));
+
+        addToFrontier(x, y - 1, 2, tile.getLayout().getEdge(0));
+        addToFrontier(x + 1, y, 3, tile.getLayout().getEdge(1));
+        addToFrontier(x, y + 1, 0, tile.getLayout().getEdge(2));
+        addToFrontier(x - 1, y, 1, tile.getLayout().getEdge(3));
+    }
+
+    /**
+     * Adds a position adjacent to a confirmed tile to the frontier if it is empty,
+     * adding the edge of the confirmed tile to its constraint. This is a helper method
+     * for updateFrontier().
+     *
+     * @param x    The X position to add.
+     * @param y    The Y position to add.
+     * @param side The side of the position that the confirmed tile is on.
+     * @param edge The edge signature of the confirmed tile facing the position.
+     */
+    private void addToFrontier(int x, int y, int side, int edge) {
+        if (getConfirmedTile(x, y) != null) {
+            return;
+        }
+
+        long position = packPosition(x, y);
+
+        int required = TileDefinition.flipEdge(edge) << (side * TileDefinition.EDGE_BITS);
+        this.frontier.put(position, this.frontier.get(position) | required);
+    }
+
+    /**
+     * Removes the edge of a tile that is being taken off the board from the constraint
+     * of an adjacent frontier position, removing the position from the frontier if
+     * nothing else constrains it. This is a helper method for removeTile().
+     *
+     * @param x    The X position of the adjacent position.
+     * @param y    The Y position of the adjacent position.
+     * @param side The side of the position that the tile is on.
+     */
+    private void removeFromFrontier(int x, int y, int side) {
+        long position = packPosition(x, y);
+        int constraint = this.frontier.get(position);
+        if (constraint == 0) {
+            return;
+        }
+
+        int sideMask = (1 << TileDefinition.EDGE_BITS) - 1;
+        int remaining = constraint & ~(sideMask << (side * TileDefinition.EDGE_BITS));
+        if (remaining == 0) {
+            this.frontier.remove(position);
+        } else {
+            this.frontier.put(position, remaining);
+        }
+    }
+
+    /**
+     * Packs an X and Y position into a single long for use as a key in the tile map,
+     * frontier, and registry of occupied cloisters.
+     *
+     * @param x The X position to pack.
+     * @param y The Y position to pack.
+     * @return The packed position.
+     */
+    private static long packPosition(int x, int y) {
+        return ((long)x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Extracts the X position from a position packed with packPosition().
+     *
+     * @param position The packed position.
+     * @return The X position.
+     */
+    private static int unpackX(long position) {
+        return (int)(position >> 32);
+    }
+
+    /**
+     * Extracts the Y position from a position packed with packPosition().
+     *
+     * @param position The packed position.
+     * @return The Y position.
+     */
+    private static int unpackY(long position) {
+        return (int)position;
+    }
+}
@@ -0,0 +1,968 @@
+package com.example.carcassonne;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Represents the entire game state of Carcassonne, including the deck of tiles
+ * and the current state of the board, the list of player meeples and scores, the
+ * current player, and the current tile and its state.
+ *
+ * For searches, whole turns can be played with applyMove() and taken back with
+ * undoMove(). Each applied move is recorded in a small journal of the scalar state,
+ * while the board and deck journal their own changes, so exploring a move costs a few
+ * hundred bytes rather than a deep copy of the game state.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class CarcassonneGameState implements Serializable {
+    /** The maximum number of players that are allowed to play Carcassonne. */
+    public static final int MAX_PLAYERS = 5;
+    /** The number of meeples each player starts out with. */
+    public static final int NUM_MEEPLES = 7;
+
+    /** The initial number of ints there is space for in the move journal. */
+    private static final int INITIAL_JOURNAL_CAPACITY = 64;
+
+    /**
+     * The scratch array of features used while confirming a meeple. Searches may play
+     * moves on several threads at once, so each thread has its own.
+     */
+    private static final ThreadLocal<FeatureList> FEATURE_LIST =
+            new ThreadLocal<FeatureList>() {
+                @Override
+                protected FeatureList initialValue() {
+                    return new FeatureList();
+                }
+            };
+
+    /** The number of players playing right now. */
+    private int numPlayers;
+
+    /** The number of meeples each player has. */
+    private int[] playerMeeples;
+
+    /**
+     * The completed score of each player, i.e. the score of all their completed
+     * cities, roads, and cloisters.
+     */
+    private int[] playerCompleteScores;
+    /**
+     * The incomplete score of each player, i.e. the score they would get for their
+     * farms and incomplete cities, roads, and cloisters if the game were to end right
+     * now.
+     */
+    private int[] playerIncompleteScores;
+
+    /** The player index of the player whose turn it is. */
+    private int currentPlayer;
+    /** Whether the current player is currently placing tiles or meeples. */
+    private boolean isTileStage;
+
+    /** Whether the game is now over, after the last tile has been placed. */
+    private boolean isGameOver;
+
+    /**
+     * The seed that all randomness in the game comes from. Games with the same seed
+     * and the same actions play out exactly the same.
+     */
+    private long seed;
+
+    /** The deck of tiles used this game. */
+    private Deck deck;
+    /** The current state of the board and the current tile being played. */
+    private Board board;
+
+    /**
+     * The moves applied with applyMove() that haven't been undone yet. For each move,
+     * the ints are the meeples and complete and incomplete scores of each player, the
+     * current player, the stage flags, the position and rotation of the current tile,
+     * and the journal marks of the board and deck, all from before the move. It is null
+     * until the first move is applied, since only searches apply moves.
+     */
+    private int[] moveJournal;
+    /** The number of ints in use in the move journal. */
+    private int moveJournalSize;
+
+    /**
+     * Creates a new game state given the number of players the game has by filling
+     * out all instance variables to their defaults and starting a new turn for
+     * player 0. A different seed is used every time.
+     *
+     * @param numPlayers The number of players the game has.
+     */
+    public CarcassonneGameState(int numPlayers) {
+        this(numPlayers, Rng.createSeed());
+    }
+
+    /**
+     * Creates a new game state given the number of players the game has and the seed
+     * for its randomness by filling out all instance variables to their defaults and
+     * starting a new turn for player 0.
+     *
+     * @param numPlayers The number of players the game has.
+     * @param seed       The seed for the deck and everything else random in the game.
+     */
+    public CarcassonneGameState(int numPlayers, long seed) {
+        this.numPlayers = numPlayers;
+
+        this.playerMeeples = new int[numPlayers];
+        Arrays.fill(this.playerMeeples, NUM_MEEPLES);
+
+        this.playerCompleteScores = new int[numPlayers];
+        this.playerIncompleteScores = new int[numPlayers];
+
+        this.currentPlayer = 0;
+        this.isTileStage = false;
+        this.isGameOver = false;
+
+        this.seed = seed;
+        this.deck = new Deck(new Rng(seed));
+        this.board = new Board(this.deck.drawStartingTile());
+
+        this.moveJournal = null;
+        this.moveJournalSize = 0;
+
+        // Finish setting things up by starting a new turn.
+        newTurn(0);
+    }
+
+    /*
+     * External Citation
+     * Date: 21 February 2022
+     * Problem: Didn't know how to make a deep copy
+     * Resource:
+     *     https://www.javainterviewpoint.com/copy-constructor/
+     * Solution: We used this website to learn how to deep copy
+     *     and used it as an example for our code
+     */
+
+    /**
+     * Makes a copy of the game state and all its instance variables. The board is
+     * copied in constant time by sharing its confirmed tiles (see Board), so it is cheap
+     * to make a copy for each player after every action.
+     *
+     * @param other The game state to make a copy of.
+     */
+    public CarcassonneGameState(CarcassonneGameState other) {
+        this.numPlayers = other.numPlayers;
+
+        this.playerMeeples = Util.copyArray(other.playerMeeples);
+        this.playerCompleteScores = Util.copyArray(other.playerCompleteScores);
+        this.playerIncompleteScores = Util.copyArray(other.playerIncompleteScores);
+
+        this.currentPlayer = other.currentPlayer;
+        this.isTileStage = other.isTileStage;
+        this.isGameOver = other.isGameOver;
+
+        this.seed = other.seed;
+        this.deck = new Deck(other.deck);
+        this.board = new Board(other.board);
+
+        // The copy has no moves to undo.
+        this.moveJournal = null;
+        this.moveJournalSize = 0;
+    }
+
+    /**
+     * Converts the game state to a string representation showing all instance
+     * variables.
+     *
+     * @return The string representation of the tile.
+     */
+    @Override
+    public String toString() {
+        ToStringer toStr = new ToStringer("CarcassonneGameState");
+
+        toStr.add("numPlayers", this.numPlayers);
+        toStr.add("seed", this.seed);
+        toStr.add("playerMeeples", this.playerMeeples);
+        toStr.add("playerCompleteScores", this.playerCompleteScores);
+        toStr.add("playerIncompleteScores", this.playerIncompleteScores);
+        toStr.add("currentTurn", this.currentPlayer);
+        toStr.add("isPlacementStage", this.isTileStage);
+        toStr.add("deck", this.deck);
+        toStr.add("board", this.board);
+
+        return toStr.toString();
+    }
+
+    /**
+     * Gets the number of players playing the game right now.
+     *
+     * @return The number of players.
+     */
+    public int getNumPlayers() {
+        return this.numPlayers;
+    }
+
+    /**
+     * Gets the number of meeples the specified player has.
+     *
+     * @param player The player to get the meeple number of.
+     * @return The number of meeples that player has.
+     */
+    public int getPlayerMeeples(int player) {
+        return this.playerMeeples[player];
+    }
+
+    /**
+     * Gets the completed score of the specified player.
+     *
+     * @param player The player to get the completed score of.
+     * @return The completed score of that player.
+     */
+    public int getPlayerCompleteScore(int player) {
+        return this.playerCompleteScores[player];
+    }
+
+    /**
+     * Gets the incomplete score of the specified player. It will be zero when the
+     * game ends and added to the complete score.
+     *
+     * @param player The player to get the incomplete score of.
+     * @return The incomplete score of that player.
+     */
+    public int getPlayerIncompleteScore(int player) {
+        return this.playerIncompleteScores[player];
+    }
+
+    /**
+     * Gets the index of the player whose turn it currently is.
+     *
+     * @return The index of the current player.
+     */
+    public int getCurrentPlayer() {
+        return this.currentPlayer;
+    }
+
+    /**
+     * Returns whether the game is currently in the tile or meeple placement stage.
+     *
+     * @return True if in tile placement, false if in meeple placement.
+     */
+    public boolean isTileStage() {
+        return this.isTileStage;
+    }
+
+    /**
+     * Returns the game is now over, after the last tile has been placed.
+     *
+     * @return True if the game is over, false if not.
+     */
+    public boolean isGameOver() {
+        return this.isGameOver;
+    }
+
+    /**
+     * Returns the Board object used by this game state.
+     *
+     * @return The board.
+     */
+    public Board getBoard() {
+        return this.board;
+    }
+
+    /**
+     * Returns the Deck object used by this game state.
+     *
+     * @return The deck.
+     */
+    public Deck getDeck() {
+        return this.deck;
+    }
+
+    /**
+     * Gets the seed that all randomness in the game comes from.
+     *
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Creates a generator for a player's own random choices, like those of the AIs. It
+     * is split from the game's seed, so it is the same whenever it is created, but
+     * independent of the deck and of the other players.
+     *
+     * @param player The index of the player to create the generator for.
+     * @return The new generator.
+     */
+    public Rng createPlayerRandom(int player) {
+        return new Rng(this.seed).split(player);
+    }
+
+    /**
+     * Gets the Zobrist hash of the game state, which covers the board and the current
+     * tile's ID (see Board.getHash()), the tiles left in the deck, the current player
+     * and stage, and each player's meeples and complete score. Incomplete scores are
+     * left out since they follow from the board. Game states that are the same,
+     * regardless of the order the tiles were placed or drawn in, have the same hash,
+     * so it can be used to find transpositions or check that copies agree.
+     *
+     * @return The hash of the game state.
+     */
+    public long getHash() {
+        long hash = this.board.getHash() ^ this.deck.getHash() ^
+                Zobrist.getPlayerKey(this.currentPlayer);
+
+        // These change too much per move to be worth keeping keys for, so mix them in
+        // every time instead. There are only a handful of them.
+        int flags = (this.isTileStage ? 1 : 0) | (this.isGameOver ? 2 : 0);
+        hash = Zobrist.mix(hash + flags);
+        for (int i = 0; i < this.numPlayers; i++) {
+            hash = Zobrist.mix(hash + this.playerMeeples[i]);
+            hash = Zobrist.mix(hash + this.playerCompleteScores[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * Called when the player places a tile at some X and Y position on the board.
+     *
+     * @param x The X position to place the tile at.
+     * @param y The Y position to place the tile at.
+     * @return True if it is the tile placement stage and it is possible to place a tile
+     *         at the specified position, false otherwise. If false, the game state
+     *         does not change.
+     */
+    public boolean placeTile(int x, int y) {
+        if (this.isTileStage && this.board.getConfirmedTile(x, y) == null) {
+            this.board.getCurrentTile().setPosition(x, y);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Called when the player rotates a tile to a specified number of degrees.
+     *
+     * @param rotation The rotation to rotate the tile to.
+     * @return True if it is the tile placement stage and the rotation is a multiple of
+     *         90 in the range 0-270, false otherwise. If false, the game state does not
+     *         change.
+     */
+    public boolean rotateTile(int rotation) {
+        // Rotations come from other players' actions too, so they can't be trusted.
+        if (this.isTileStage && rotation >= 0 && rotation < 360 && rotation % 90 == 0) {
+            this.board.getCurrentTile().setRotation(rotation);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Called when the player confirms their current tile placement and starts
+     * the meeple placement stage.
+     *
+     * @return True if it is the tile placement stage and the current tile's position
+     *         is valid, false otherwise. If false, the game state does not change.
+     */
+    public boolean confirmTile() {
+        if (this.isTileStage && this.board.isCurrentTilePlacementValid()) {
+            this.isTileStage = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Called when the player wishes to reset from meeple placement back to tile
+     * placement, removing any meeples currently on the tile.
+     *
+     * @return True if it is the meeple placement stage, false otherwise. If false,
+     *         the game state does not change.
+     */
+    public boolean resetTurn() {
+        if (!this.isTileStage) {
+            this.board.getCurrentTile().removeMeeple();
+            this.isTileStage = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Called when the player wishes to place a meeple on a tile on the specified
+     * section.
+     *
+     * @param section The section to place the meeple on.
+     * @return True if it is the meeple placement stage and the player has enough
+     *         meeples, false otherwise. If false, the game state does not change.
+     */
+    public boolean placeMeeple(Section section) {
+        // We can't place meeples in the tile placement stage.
+        if (this.isTileStage) {
+            return false;
+        }
+
+        // If we're placing a meeple (not removing it), ensure we have enough meeples.
+        if (section != null && this.playerMeeples[this.currentPlayer] <= 0) {
+            return false;
+        }
+
+        this.board.getCurrentTile().setMeepleSection(section);
+        return true;
+    }
+
+    /**
+     * Called when the player wishes to confirm their meeple placement, finishing
+     * their turn, scoring the tile, and starting a new turn for the next player.
+     *
+     * @return True if it is the meeple placement stage and the meeple placement is
+     *         valid, false otherwise. If false, the game state will not be changed.
+     */
+
+
+    public boolean confirmMeeple() {
+        // Do nothing if it's invalid to confirm a meeple right now.
+        if (this.isTileStage || !this.board.isCurrentMeeplePlacementValid()) {
+            return false;
+        }
+
+        // Before we confirm and the current tile becomes null, subtract the meeple
+        // if the player placed one.
+        Tile placedTile = this.board.getCurrentTile();
+        if (placedTile.hasMeeple()) {
+            this.playerMeeples[this.currentPlayer]--;
+        }
+
+        // Take everything whose incomplete score may be changed by this placement out
+        // of the incomplete scores. It gets added back in once the tile is placed and
+        // scored, so the rest of the board never has to be re-tallied.
+        FeatureList affected = FEATURE_LIST.get();
+        int numAffected = getAffectedFeatures(placedTile, false, affected);
+        tallyIncompleteScores(affected.features, numAffected,
+                placedTile.getX(), placedTile.getY(), -1);
+
+        // Confirm the tile first so that it is part of the board's feature graph
+        // for scoring.
+        this.board.confirmCurrentTile();
+
+        // Score the cities and roads on the placed tile that it completed.
+        scoreCompletedFeatures(placedTile, affected);
+
+        // Score the occupied cloisters that the placed tile completed, which can only
+        // be the cloisters around and on it.
+        scoreCompletedCloisters(placedTile.getX(), placedTile.getY());
+
+        // Add the new incomplete scores of everything that was affected back in. Make
+        // sure they match a full re-tally of the board in debug builds.
+        numAffected = getAffectedFeatures(placedTile, true, affected);
+        tallyIncompleteScores(affected.features, numAffected,
+                placedTile.getX(), placedTile.getY(), 1);
+        assert Arrays.equals(this.playerIncompleteScores, tallyAllIncompleteScores());
+
+        // Start a new turn.
+        newTurn((currentPlayer + 1) % this.numPlayers);
+
+        return true;
+    }
+
+    /**
+     * Applies an event from another copy of the game state (see GameEvent), either by
+     * doing the same action that caused it, or by checking that this game state got
+     * the same result as the other copy did.
+     *
+     * @param event The event to apply.
+     * @return True if the event was applied and this game state agrees with it, false
+     *         if this game state is out of sync with the copy the event came from. If
+     *         false, the game state may have changed, so it should be replaced with a
+     *         new copy.
+     */
+    public boolean applyEvent(GameEvent event) {
+        // The hash can be checked even once the game is over, but nothing else can
+        // happen.
+        if (event.getKind() == GameEvent.STATE_HASH) {
+            return event.equals(GameEvent.stateHash(this));
+        }
+        if (this.isGameOver) {
+            return false;
+        }
+
+        switch (event.getKind()) {
+            case GameEvent.TILE_MOVED:
+                return placeTile(event.getValue(0), event.getValue(1));
+            case GameEvent.TILE_ROTATED:
+                return rotateTile(event.getValue(0));
+            case GameEvent.TILE_CONFIRMED:
+                return confirmTile();
+            case GameEvent.TURN_RESET:
+                return resetTurn();
+            case GameEvent.MEEPLE_PLACED: {
+                if (this.isTileStage) {
+                    return false;
+                }
+
+                int sectionIndex = event.getValue(0);
+                return placeMeeple(sectionIndex == MoveList.NO_SECTION ? null :
+                        this.board.getCurrentTile().getSectionFromIndex(sectionIndex));
+            }
+            case GameEvent.SCORES_CHANGED:
+                return confirmMeeple() && event.equals(GameEvent.scoresChanged(this));
+            case GameEvent.MEEPLE_CONFIRMED:
+                return confirmMeeple();
+            case GameEvent.TURN_STARTED:
+                return event.equals(GameEvent.turnStarted(this));
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Plays a whole turn for the current player at once: places the current tile with
+     * the position, rotation, and meeple of a packed move (see MoveList), confirms it,
+     * and starts the next turn. The move can be taken back with undoMove().
+     *
+     * @param move The packed move to play.
+     * @return True if it is the tile placement stage and the move is valid for the
+     *         current tile, false otherwise. If false, the game state does not change.
+     */
+    public boolean applyMove(long move) {
+        if (this.isGameOver || !this.isTileStage) {
+            return false;
+        }
+
+        Tile tile = this.board.getCurrentTile();
+        int sectionIndex = MoveList.getSectionIndex(move);
+
+        if (!this.board.isPlacementValid(tile, move) ||
+                (sectionIndex != MoveList.NO_SECTION &&
+                        this.playerMeeples[this.currentPlayer] <= 0)) {
+            return false;
+        }
+
+        // Start journaling with the first move so that the board and deck can be
+        // rolled back to their marks.
+        if (this.moveJournalSize == 0) {
+            this.board.setJournaling(true);
+            this.deck.setJournaling(true);
+        }
+
+        for (int i = 0; i < this.numPlayers; i++) {
+            pushJournal(this.playerMeeples[i]);
+            pushJournal(this.playerCompleteScores[i]);
+            pushJournal(this.playerIncompleteScores[i]);
+        }
+        pushJournal(this.currentPlayer);
+        pushJournal((this.isTileStage ? 1 : 0) | (this.isGameOver ? 2 : 0));
+        pushJournal(tile.getX());
+        pushJournal(tile.getY());
+        pushJournal(tile.getRotation());
+        pushJournal(this.board.getJournalMark());
+        pushJournal(this.deck.getJournalMark());
+
+        // Play the move through the same actions a player would take.
+        boolean isValid = rotateTile(MoveList.getRotation(move)) &&
+                placeTile(MoveList.getX(move), MoveList.getY(move)) &&
+                confirmTile() &&
+                placeMeeple(sectionIndex == MoveList.NO_SECTION ?
+                        null : tile.getSectionFromIndex(sectionIndex)) &&
+                confirmMeeple();
+        assert isValid;
+
+        return true;
+    }
+
+    /**
+     * Takes back the last move played with applyMove() that hasn't been undone yet,
+     * restoring the game state to exactly how it was before the move, including the
+     * tiles drawn since then, which are put back into the deck.
+     *
+     * @return True if there was a move to undo, false otherwise. If false, the game
+     *         state does not change.
+     */
+    public boolean undoMove() {
+        if (this.moveJournalSize == 0) {
+            return false;
+        }
+
+        this.deck.rollback(popJournal());
+        this.board.rollback(popJournal());
+
+        // Rolling back the board makes the tile that was placed current again, so
+        // put it back how it was.
+        Tile tile = this.board.getCurrentTile();
+        tile.setRotation(popJournal());
+        int y = popJournal();
+        tile.setPosition(popJournal(), y);
+        tile.removeMeeple();
+
+        int flags = popJournal();
+        this.isTileStage = (flags & 1) != 0;
+        this.isGameOver = (flags & 2) != 0;
+        this.currentPlayer = popJournal();
+
+        for (int i = this.numPlayers - 1; i >= 0; i--) {
+            this.playerIncompleteScores[i] = popJournal();
+            this.playerCompleteScores[i] = popJournal();
+            this.playerMeeples[i] = popJournal();
+        }
+
+        // Once every move has been undone, there's nothing left to roll back to.
+        if (this.moveJournalSize == 0) {
+            this.board.setJournaling(false);
+            this.deck.setJournaling(false);
+        }
+
+        return true;
+    }
+
+    /**
+     * Pushes an int onto the move journal, allocating or growing it if necessary.
+     *
+     * @param value The int to push.
+     */
+    private void pushJournal(int value) {
+        if (this.moveJournal == null) {
+            this.moveJournal = new int[INITIAL_JOURNAL_CAPACITY];
+        } else if (this.moveJournalSize == this.moveJournal.length) {
+            this.moveJournal = Arrays.copyOf(this.moveJournal,
+                    this.moveJournal.length * 2);
+        }
+        this.moveJournal[this.moveJournalSize++] = value;
+    }
+
+    /**
+     * Pops the last int off the move journal.
+     *
+     * @return The int popped.
+     */
+    private int popJournal() {
+        return this.moveJournal[--this.moveJournalSize];
+    }
+
+    /**
+     * Scores every city and road on a newly placed tile that was just completed by
+     * placing it, looking them up in the board's feature graph. The scoring players'
+     * meeples are returned to them. Since completed features are closed off, there's
+     * no possibility of scoring them again.
+     *
+     * @param placedTile The tile that was just confirmed on the board.
+     * @param scratch    The scratch list of the current thread, from FEATURE_LIST.
+     */
+    private void scoreCompletedFeatures(Tile placedTile, FeatureList scratch) {
+        FeatureGraph features = this.board.getFeatures();
+
+        // A tile may have several sections in the same feature, so make sure that
+        // each feature only gets scored once.
+        int[] scoredFeatures = scratch.reserve(placedTile.getSections().length);
+        int numScored = 0;
+
+        for (Section section : placedTile.getSections()) {
+            int type = section.getType();
+            if (type != Tile.TYPE_CITY && type != Tile.TYPE_ROAD) {
+                continue;
+            }
+
+            // Make sure the feature graph agrees with the full analysis in debug builds.
+            assert this.board.isFeatureConsistent(section);
+
+            int feature = features.getFeature(section);
+            if (!features.isClosed(feature)) {
+                continue;
+            }
+
+            int oldNumScored = numScored;
+            numScored = Util.addUnique(scoredFeatures, numScored, feature);
+            if (numScored == oldNumScored) {
+                continue;
+            }
+
+            // Roads are worth one point per tile. Completed cities are worth two
+            // points per tile and per pennant.
+            int score = features.getNumTiles(feature);
+            if (type == Tile.TYPE_CITY) {
+                score = (score + features.getNumPennants(feature)) * 2;
+            }
+
+            // The player(s) with the most meeples on the feature get the points. If
+            // there are no meeples, nobody does.
+            int most = features.getMostMeeples(feature);
+            if (most == 0) {
+                continue;
+            }
+
+            // Remember who scores as a bit per player, since returning the meeples
+            // changes the counts.
+            int scoringPlayers = 0;
+            for (int i = 0; i < MAX_PLAYERS; i++) {
+                if (features.getNumMeeples(feature, i) == most) {
+                    scoringPlayers |= 1 << i;
+                    this.playerCompleteScores[i] += score;
+                }
+            }
+
+            // Return the meeples of the scoring players.
+            int member = feature;
+            do {
+                Section memberSection = features.getSection(member);
+                int owner = memberSection.getOwner();
+
+                if (memberSection.hasMeeple() && (scoringPlayers & (1 << owner)) != 0) {
+                    this.board.removeMeeple(memberSection.getParent());
+                    this.playerMeeples[owner]++;
+                }
+
+                member = features.getNextMember(member);
+            } while (member != feature);
+        }
+    }
+
+    /**
+     * Scores every completed occupied cloister in the three by three area around a
+     * position and returns the meeples on them to their owners. Since the meeples
+     * are removed from the cloisters, they can never be scored twice.
+     *
+     * @param x The X position at the center of the cloisters to score.
+     * @param y The Y position at the center of the cloisters to score.
+     */
+    private void scoreCompletedCloisters(int x, int y) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                int neighbors = this.board.getCloisterNeighbors(x + dx, y + dy);
+                if (neighbors != 9) {
+                    continue;
+                }
+
+                // Complete cloisters are worth a point for each of their nine tiles.
+                Tile tile = this.board.getConfirmedTile(x + dx, y + dy);
+                int owner = tile.getOwner();
+
+                this.playerCompleteScores[owner] += neighbors;
+                this.board.removeMeeple(tile);
+                this.playerMeeples[owner]++;
+            }
+        }
+    }
+
+    /**
+     * Finds every feature whose incomplete score may change when a tile is placed:
+     * the features of the tile's own sections, and the farms next to any of those
+     * features that are cities, since their score changes if the city is completed.
+     *
+     * Before the tile is confirmed, the tile's sections are not in the feature graph
+     * yet, so the features on adjacent tiles that they will be merged with are used
+     * instead. Every feature found before confirming ends up merged into one found
+     * after confirming, so the two sets cover exactly the same parts of the board.
+     *
+     * @param placedTile  The tile being placed.
+     * @param isConfirmed Whether the tile has been confirmed on the board yet.
+     * @param affected    The list to put the affected features in, from FEATURE_LIST.
+     * @return The number of affected features, which are at the start of
+     *         affected.features without duplicates.
+     */
+    private int getAffectedFeatures(Tile placedTile, boolean isConfirmed,
+                                    FeatureList affected) {
+        FeatureGraph features = this.board.getFeatures();
+        int numAffected = 0;
+
+        for (Section section : placedTile.getSections()) {
+            if (section.getType() == Tile.TYPE_CLOISTER) {
+                continue;
+            }
+
+            // A section has at most eight parts, so it touches at most eight features.
+            int[] list = affected.reserve(numAffected + 8);
+            if (isConfirmed) {
+                numAffected = Util.addUnique(list, numAffected,
+                        features.getFeature(section));
+            } else {
+                numAffected = this.board.addAdjacentFeatures(section, list, numAffected);
+            }
+        }
+
+        // Add the farms next to each city. Only the features found so far can be
+        // cities, since the rest are farms.
+        int numFound = numAffected;
+        for (int i = 0; i < numFound; i++) {
+            int feature = affected.features[i];
+            if (features.getType(feature) != Tile.TYPE_CITY) {
+                continue;
+            }
+
+            for (int farm : features.getBorderingFeatures(feature)) {
+                numAffected = Util.addUnique(affected.reserve(numAffected + 1),
+                        numAffected, farm);
+            }
+        }
+
+        return numAffected;
+    }
+
+    /**
+     * Adds or subtracts the incomplete scores of a list of features and every cloister
+     * in the three by three area around a position to or from the players' incomplete
+     * scores.
+     *
+     * @param affected    The features to tally, without duplicates.
+     * @param numAffected The number of features in affected to tally.
+     * @param x           The X position at the center of the cloisters to tally.
+     * @param y           The Y position at the center of the cloisters to tally.
+     * @param sign        1 to add the scores, or -1 to subtract them.
+     */
+    private void tallyIncompleteScores(int[] affected, int numAffected, int x, int y,
+                                       int sign) {
+        for (int i = 0; i < numAffected; i++) {
+            tallyIncompleteFeature(affected[i], sign);
+        }
+
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                tallyIncompleteCloister(x + dx, y + dy, sign);
+            }
+        }
+    }
+
+    /**
+     * Adds or subtracts the incomplete score of a feature to or from the incomplete
+     * scores of the players with the most meeples on it. Closed features have no
+     * incomplete score since they have either been scored already or, for farms,
+     * can't be.
+     *
+     * @param feature The feature to tally.
+     * @param sign    1 to add the score, or -1 to subtract it.
+     */
+    private void tallyIncompleteFeature(int feature, int sign) {
+        FeatureGraph features = this.board.getFeatures();
+
+        int most = features.getMostMeeples(feature);
+        if (features.isClosed(feature) || most == 0) {
+            return;
+        }
+
+        // Cities are worth a point per tile and per pennant, roads a point per tile,
+        // and farms three points per completed city next to them.
+        int score;
+        switch (features.getType(feature)) {
+            case Tile.TYPE_CITY:
+                score = features.getNumTiles(feature) + features.getNumPennants(feature);
+                break;
+            case Tile.TYPE_ROAD:
+                score = features.getNumTiles(feature);
+                break;
+            default:
+                score = 3 * features.getNumClosedCities(feature);
+                break;
+        }
+
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            if (features.getNumMeeples(feature, i) == most) {
+                this.playerIncompleteScores[i] += sign * score;
+            }
+        }
+    }
+
+    /**
+     * Adds or subtracts the incomplete score of the occupied cloister at a position,
+     * if there is one, to or from the incomplete score of the meeple's owner. The
+     * score is the number of confirmed tiles around and including the cloister.
+     *
+     * @param x    The X position of the cloister.
+     * @param y    The Y position of the cloister.
+     * @param sign 1 to add the score, or -1 to subtract it.
+     */
+    private void tallyIncompleteCloister(int x, int y, int sign) {
+        // Completed cloisters have already been scored.
+        int neighbors = this.board.getCloisterNeighbors(x, y);
+        if (neighbors == 0 || neighbors == 9) {
+            return;
+        }
+
+        int owner = this.board.getConfirmedTile(x, y).getOwner();
+        this.playerIncompleteScores[owner] += sign * neighbors;
+    }
+
+    /**
+     * Re-tallies the incomplete scores of every player from scratch by analyzing the
+     * entire board. This is far too slow to do every turn, so it is only used to check
+     * the incrementally updated incomplete scores in assertions.
+     *
+     * @return The incomplete score of each player.
+     */
+    private int[] tallyAllIncompleteScores() {
+        int[] scores = new int[this.numPlayers];
+
+        MeepleAnalysis.analyzeBoard(this.board, (analysis) -> {
+            // If this section is not complete, add it to the incomplete scores. Do not
+            // score complete sections because that will result in doubly counted scores.
+            if (!analysis.isClosed()) {
+                analysis.tallyScores(scores);
+            }
+        });
+
+        return scores;
+    }
+
+    /**
+     * Starts a new turn by setting the current player to the specified player, setting
+     * the game to the placement stage, and drawing a new tile. If there is no valid
+     * placement for the drawn tile, more will be drawn until a valid one is found.
+     * If the deck is empty when trying to draw a tile, the game is over.
+     *
+     * @param newPlayer The index of the player whose turn it will be next.
+     */
+    private void newTurn(int newPlayer) {
+        this.currentPlayer = newPlayer;
+        this.isTileStage = true;
+
+        // Keep drawing tiles until the deck is empty. If it is, set the game as over
+        // and break. CarcassonneLocalGame will detect this and end the game.
+        while (true) {
+            if (this.deck.isEmpty()) {
+                /* The deck is now empty, so the game is about to end. Add incomplete
+                 * scores to the final complete scores. Note that there is no separate
+                 * farm scoring stage: farms are counted in the incomplete scores, so
+                 * they are accounted for here. Also clear the incomplete scores now
+                 * that the game is complete.
+                 */
+                for (int i = 0; i < this.numPlayers; i++) {
+                    this.playerCompleteScores[i] += this.playerIncompleteScores[i];
+                    this.playerIncompleteScores[i] = 0;
+                }
+
+                // Now the game really is over. Thanks for playing!
+                this.isGameOver = true;
+                break;
+            }
+
+            // Draw a tile and make it current so we can check its validity.
+            this.board.setCurrentTile(this.deck.drawTile(this.currentPlayer));
+
+            // If there is a valid tile placement for this tile, break since we've found
+            // our tile. Otherwise, continue to draw tiles.
+            if (this.board.hasValidTilePlacement()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * A growable list of features used as scratch space while confirming a meeple, so
+     * that scoring never boxes or allocates once the list is big enough.
+     */
+    private static final class FeatureList {
+        /** The features in the list. Only the caller knows how many are in use. */
+        int[] features = new int[16];
+
+        /**
+         * Grows the list if necessary so that it has room for at least the specified
+         * number of features, keeping the ones already in it.
+         *
+         * @param capacity The number of features that must fit.
+         * @return The array of features, which may be new.
+         */
+        int[] reserve(int capacity) {
+            if (capacity > this.features.length) {
+                this.features = Arrays.copyOf(this.features,
+                        Math.max(capacity, this.features.length * 2));
+            }
+            return this.features;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.carcassonne;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Represents a deck of tiles, which can be drawn from until empty and have random
+ * rotations. There is a special starting tile, which is always tile D, that is drawn
+ * separately from the rest of the tiles in the deck. All randomness comes from the
+ * deck's own seeded generator, so decks made from the same seed draw the same tiles in
+ * the same order.
+ *
+ * Tiles of the same ID are interchangeable until they are drawn, so the deck only
+ * stores how many tiles of each ID are left. A Tile is only created when it is drawn,
+ * which makes copying a deck as cheap as copying a small array, and lets players ask
+ * how many tiles of each ID are left.
+ *
+ * While journaling, each tile drawn is recorded so that draws can be rolled back to an
+ * earlier mark, putting the tiles back and rewinding the generator.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class Deck implements Serializable {
+    /**
+     * The number of tiles that the deck starts out with, including the starting tile.
+     */
+    public static final int NUM_TILES = 72;
+
+    /** The number of different tile IDs, which go from A-X. */
+    public static final int NUM_IDS = 'X' - 'A' + 1;
+
+    /** The ID of the starting tile. */
+    private static final char STARTING_ID = 'D';
+
+    /** The initial number of ints there is space for in the journal. */
+    private static final int INITIAL_JOURNAL_CAPACITY = 24;
+
+    /**
+     * The number of tiles of each ID left in the deck, not including the starting
+     * tile, indexed by the ID minus 'A'.
+     */
+    private int[] counts;
+    /** The total number of tiles left in the deck, not including the starting tile. */
+    private int numTiles;
+
+    /** Whether the starting tile has not been drawn yet. */
+    private boolean hasStartingTile;
+
+    /** The generator for the order of the tiles and their rotations. */
+    private Rng random;
+
+    /**
+     * The hash of the tiles left in the deck, including the starting tile, which is
+     * the sum of their Zobrist deck keys.
+     */
+    private long hash;
+
+    /** Whether draws are being recorded in the journal. */
+    private boolean isJournaling;
+    /**
+     * The draws made while journaling, three ints per draw: the ID of the tile drawn,
+     * and the high and low halves of the generator's state before the draw. It is null
+     * if the deck has never journaled.
+     */
+    private int[] journal;
+    /** The number of ints in use in the journal. */
+    private int journalSize;
+
+    /**
+     * Draws a tile from the deck at random, giving it a random rotation. Once drawn,
+     * the tile is removed from the deck entirely.
+     *
+     * @param owner The index of the player that drew this tile
+     * @return The tile drawn from the deck.
+     */
+    public Tile drawTile(int owner) {
+        long state = this.random.getState();
+
+        // Every tile left is equally likely, so find the ID that the chosen tile falls
+        // under when they are lined up by ID.
+        int chosen = this.random.nextInt(this.numTiles);
+        int index = 0;
+        while (chosen >= this.counts[index]) {
+            chosen -= this.counts[index];
+            index++;
+        }
+
+        char id = (char)('A' + index);
+        this.counts[index]--;
+        this.numTiles--;
+        this.hash -= Zobrist.getDeckKey(id);
+
+        if (this.isJournaling) {
+            if (this.journalSize + 3 > this.journal.length) {
+                this.journal = Arrays.copyOf(this.journal, this.journal.length * 2);
+            }
+            this.journal[this.journalSize++] = id;
+            this.journal[this.journalSize++] = (int)(state >>> 32);
+            this.journal[this.journalSize++] = (int)state;
+        }
+
+        Tile tile = new Tile(id);
+        tile.setRotation(this.random.nextInt(4) * 90);
+        tile.setOwner(owner);
+        return tile;
+    }
+
+    /**
+     * Starts or stops recording draws in the journal. Either way, the journal is
+     * emptied, so earlier marks can no longer be rolled back to.
+     *
+     * @param isJournaling Whether to record draws from now on.
+     */
+    public void setJournaling(boolean isJournaling) {
+        if (isJournaling && this.journal == null) {
+            this.journal = new int[INITIAL_JOURNAL_CAPACITY];
+        }
+
+        this.isJournaling = isJournaling;
+        this.journalSize = 0;
+    }
+
+    /**
+     * Gets a mark for the current state of the deck, which can be rolled back to with
+     * rollback() as long as journaling stays on.
+     *
+     * @return The mark of the current state.
+     */
+    public int getJournalMark() {
+        return this.journalSize;
+    }
+
+    /**
+     * Puts every tile drawn since a mark was gotten back into the deck and rewinds the
+     * generator to before the draws, so the same tiles will be drawn again.
+     *
+     * @param mark The mark to roll back to, from getJournalMark().
+     */
+    public void rollback(int mark) {
+        while (this.journalSize > mark) {
+            long low = this.journal[--this.journalSize] & 0xFFFFFFFFL;
+            long high = this.journal[--this.journalSize];
+            this.random.setState((high << 32) | low);
+
+            char id = (char)this.journal[--this.journalSize];
+            this.counts[id - 'A']++;
+            this.numTiles++;
+            this.hash += Zobrist.getDeckKey(id);
+        }
+    }
+
+    /**
+     * Draws the starting tile from the deck. Once drawn, the tile is removed from the
+     * deck entirely.
+     *
+     * @return The starting tile drawn from the deck.
+     */
+    public Tile drawStartingTile() {
+        assert this.hasStartingTile;
+
+        this.hasStartingTile = false;
+        this.hash -= Zobrist.getDeckKey(STARTING_ID);
+        return new Tile(STARTING_ID);
+    }
+
+    /**
+     * Gets the hash of the tiles left in the deck. Decks with the same number of tiles
+     * of each ID have the same hash.
+     *
+     * @return The hash of the deck.
+     */
+    public long getHash() {
+        return this.hash;
+    }
+
+    /**
+     * Gets the number of tiles in the deck. This does not include the current tile.
+     *
+     * @return The number of tiles in the deck.
+     */
+    public int getTilesLeft() {
+        return this.numTiles;
+    }
+
+    /**
+     * Gets the number of tiles with a specific ID in the deck. This does not include
+     * the current tile or the starting tile.
+     *
+     * @param id The ID of the tiles to count, from A-X.
+     * @return The number of tiles with that ID in the deck.
+     */
+    public int getTilesLeft(char id) {
+        return this.counts[id - 'A'];
+    }
+
+    /**
+     * Queries whether or not there are any more tiles left in the deck.
+     *
+     * @return True if there are no more tiles in the deck, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.numTiles == 0 && !this.hasStartingTile;
+    }
+
+    /**
+     * Converts the deck to a string representation showing the number of tiles of
+     * each ID in the deck.
+     *
+     * @return The string representation of the deck.
+     */
+    @Override
+    public String toString() {
+        ToStringer toStr = new ToStringer("Deck");
+
+        toStr.add("counts", this.counts);
+        toStr.add("numTiles", this.numTiles);
+        toStr.add("hasStartingTile", this.hasStartingTile);
+
+        return toStr.toString();
+    }
+
+    /**
+     * Create a new deck by populating the deck with the proper number of each tile,
+     * using a different seed every time.
+     */
+    public Deck() {
+        this(new Rng(Rng.createSeed()));
+    }
+
+    /**
+     * Create a new deck by populating the deck with the proper number of each tile.
+     *
+     * @param random The generator to choose the rotations of the tiles and the order
+     *               they are drawn in with. The deck takes ownership of it.
+     */
+    public Deck(Rng random) {
+        this.counts = new int[NUM_IDS];
+        this.numTiles = 0;
+        this.random = random;
+        this.hash = 0;
+
+        // Count each tile as many times as the tile appears according to the manual.
+        addTiles('A', 2);
+        addTiles('B', 4);
+        addTiles('C', 1);
+        addTiles('D', 3); // One less than the manual states since D is the starting tile.
+        addTiles('E', 5);
+        addTiles('F', 2);
+        addTiles('G', 1);
+        addTiles('H', 3);
+        addTiles('I', 2);
+        addTiles('J', 3);
+        addTiles('K', 3);
+        addTiles('L', 3);
+        addTiles('M', 2);
+        addTiles('N', 3);
+        addTiles('O', 2);
+        addTiles('P', 3);
+        addTiles('Q', 1);
+        addTiles('R', 3);
+        addTiles('S', 2);
+        addTiles('T', 1);
+        addTiles('U', 8);
+        addTiles('V', 9);
+        addTiles('W', 4);
+        addTiles('X', 1);
+
+        // There must be the total number of tiles in the deck at this point, not including
+        // the starting tile.
+        assert this.numTiles == NUM_TILES - 1;
+
+        // The starting tile is always D, so count it separately.
+        this.hasStartingTile = true;
+        this.hash += Zobrist.getDeckKey(STARTING_ID);
+
+        this.isJournaling = false;
+        this.journal = null;
+        this.journalSize = 0;
+    }
+
+    /**
+     * Creates a new deck that is a copy of another deck.
+     *
+     * @param other The deck to make a copy of.
+     */
+    public Deck(Deck other) {
+        this.counts = Util.copyArray(other.counts);
+        this.numTiles = other.numTiles;
+        this.hasStartingTile = other.hasStartingTile;
+        this.random = new Rng(other.random);
+        this.hash = other.hash;
+
+        // The copy starts out with an empty journal, so it can't be rolled back.
+        this.isJournaling = false;
+        this.journal = null;
+        this.journalSize = 0;
+    }
+
+    /**
+     * Adds a specified number of tiles of a specific ID to the counts of tiles.
+     *
+     * @param id  The ID of the tiles to add.
+     * @param num The number of tiles to add.
+     */
+    private void addTiles(char id, int num) {
+        this.counts[id - 'A'] += num;
+        this.numTiles += num;
+        this.hash += num * Zobrist.getDeckKey(id);
+    }
+}
@@ -42,7 +42,8 @@ public class FarmMeepleAnalysis extends PartMeepleAnalysis {
 
         // Loop through every part in each farm section.
         for (Section section : this.visitedSections) {
-            for (int part : section.getParts()) {
+            for (int parts = section.getPartMask(); parts != 0; parts &= parts - 1) {
+                int part = Integer.numberOfTrailingZeros(parts);
                 // Get the diagonal part to this one since cities will always be on
                 // the diagonal.
                 int diagonalPart = Tile.getDiagonalPart(part);
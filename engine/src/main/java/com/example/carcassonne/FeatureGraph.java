@@ -0,0 +1,972 @@
+package com.example.carcassonne;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * A persistent index of every feature on the board, i.e. every connected city, road,
+ * and farm. It is a disjoint-set forest (union-find) where each farm, city, or road
+ * section of a confirmed tile is a node, and connected sections share a root. Board
+ * updates it each time a tile is placed, so questions that used to need a flood fill
+ * through PartMeepleAnalysis become near constant time lookups.
+ *
+ * Features are identified by the node of their root, which is gotten from any of their
+ * sections with getFeature(). Roots change as features are merged, so feature IDs
+ * are only meaningful until the next tile is placed. For each feature, the graph keeps
+ * track of:
+ *
+ * - The number of open edges, i.e. parts of its sections that have no adjacent tile.
+ *   A feature is closed when there are none left.
+ * - The number of distinct tiles that contain the feature, and how many of those
+ *   tiles have a pennant.
+ * - The number of meeples each player has on the feature.
+ * - A circular linked list of its member nodes, so its sections can be iterated.
+ * - For farms, the cities that border them, and for cities, the farms that border
+ *   them. Farm scores are a count of the closed cities in this set.
+ *
+ * Cloister sections are not connected to anything, so they have no node.
+ *
+ * While journaling, every change to the graph is recorded so that it can be rolled
+ * back to an earlier mark, which is how moves are undone without copying the graph.
+ *
+ * The nodes are stored in chunks of CHUNK_SIZE nodes each. Copies made with the
+ * sharing constructor share every chunk with the original, so copying the graph is
+ * constant time. Afterwards, the first write to a chunk copies the directory of
+ * chunks and that one chunk, and the border sets in it are only copied when they are
+ * first written to themselves, so a move only copies the few chunks it touches.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class FeatureGraph implements Serializable {
+    /** The number of bits of a node that give its index within its chunk. */
+    private static final int CHUNK_BITS = 6;
+    /** The number of nodes in each chunk. */
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    /** The mask of the bits of a node that give its index within its chunk. */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    /** The number of meeple counts in each chunk. */
+    private static final int CHUNK_MEEPLES =
+            CHUNK_SIZE * CarcassonneGameState.MAX_PLAYERS;
+
+    /** The initial number of ints there is space for in the journal. */
+    private static final int INITIAL_JOURNAL_CAPACITY = 256;
+
+    /*
+     * The kinds of journal entries. The first seven are writes to the node arrays of
+     * the same name, as read by getValue().
+     */
+    private static final int JOURNAL_PARENTS = 0;
+    private static final int JOURNAL_NEXT_MEMBERS = 1;
+    private static final int JOURNAL_SIZES = 2;
+    private static final int JOURNAL_OPEN_EDGES = 3;
+    private static final int JOURNAL_NUM_TILES = 4;
+    private static final int JOURNAL_NUM_PENNANTS = 5;
+    private static final int JOURNAL_MEEPLES = 6;
+    private static final int JOURNAL_BORDER_ADDED = 7;
+    private static final int JOURNAL_BORDER_REMOVED = 8;
+    private static final int JOURNAL_BORDERS_DETACHED = 9;
+    private static final int JOURNAL_NODE_ADDED = 10;
+
+    /**
+     * The information about CHUNK_SIZE consecutive nodes, indexed by the node's index
+     * within the chunk.
+     */
+    private static final class NodeChunk implements Serializable {
+        /** The section of each node. */
+        final Section[] sections;
+
+        /** The parent of each node in the forest. Roots are their own parent. */
+        final int[] parents;
+        /** The next member of each node in the circular list of its feature's members. */
+        final int[] nextMembers;
+
+        /** The number of member nodes in each feature. Only meaningful for roots. */
+        final int[] sizes;
+        /** The number of open edges of each feature. Only meaningful for roots. */
+        final int[] openEdges;
+        /** The number of distinct tiles in each feature. Only meaningful for roots. */
+        final int[] numTiles;
+        /**
+         * The number of distinct tiles with a pennant in each feature. Only meaningful
+         * for roots.
+         */
+        final int[] numPennants;
+        /**
+         * The number of meeples each player has on each feature, indexed by
+         * index * CarcassonneGameState.MAX_PLAYERS + player. Only meaningful for roots.
+         */
+        final int[] meeples;
+        /**
+         * The features that border each feature, which are cities for farms and farms
+         * for cities. The sets only contain roots. Only meaningful for roots of farms
+         * and cities, and null for other nodes.
+         */
+        final ArrayList<HashSet<Integer>> borders;
+        /**
+         * Whether each border set belongs to this chunk alone, in which case it may be
+         * modified in place.
+         */
+        final boolean[] ownsBorders;
+
+        /**
+         * Creates a new chunk with no nodes in it.
+         */
+        NodeChunk() {
+            this.sections = new Section[CHUNK_SIZE];
+
+            this.parents = new int[CHUNK_SIZE];
+            this.nextMembers = new int[CHUNK_SIZE];
+
+            this.sizes = new int[CHUNK_SIZE];
+            this.openEdges = new int[CHUNK_SIZE];
+            this.numTiles = new int[CHUNK_SIZE];
+            this.numPennants = new int[CHUNK_SIZE];
+            this.meeples = new int[CHUNK_MEEPLES];
+
+            this.borders = new ArrayList<>(CHUNK_SIZE);
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                this.borders.add(null);
+            }
+            this.ownsBorders = new boolean[CHUNK_SIZE];
+        }
+
+        /**
+         * Creates a new chunk that is a copy of another one.
+         *
+         * @param other  The chunk to make a copy of.
+         * @param isDeep Whether to copy the border sets as well rather than sharing
+         *               them, and to leave the sections empty for relinking.
+         */
+        NodeChunk(NodeChunk other, boolean isDeep) {
+            this.sections = isDeep ? new Section[CHUNK_SIZE] : other.sections.clone();
+
+            this.parents = other.parents.clone();
+            this.nextMembers = other.nextMembers.clone();
+
+            this.sizes = other.sizes.clone();
+            this.openEdges = other.openEdges.clone();
+            this.numTiles = other.numTiles.clone();
+            this.numPennants = other.numPennants.clone();
+            this.meeples = other.meeples.clone();
+
+            this.borders = new ArrayList<>(other.borders);
+            this.ownsBorders = new boolean[CHUNK_SIZE];
+
+            if (isDeep) {
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    HashSet<Integer> border = this.borders.get(i);
+                    if (border != null) {
+                        this.borders.set(i, new HashSet<>(border));
+                    }
+                }
+                Arrays.fill(this.ownsBorders, true);
+            }
+        }
+    }
+
+    /** The chunks of nodes. Node n is in chunk n >>> CHUNK_BITS. */
+    private NodeChunk[] chunks;
+    /**
+     * Whether this graph has its own copy of each chunk, in which case it may modify
+     * the chunk in place. Only meaningful if isShared is false.
+     */
+    private boolean[] ownedChunks;
+
+    /** The number of nodes in the graph. */
+    private int numNodes;
+
+    /**
+     * Whether the directory of chunks may be shared with another graph, in which case
+     * none of the chunks are owned.
+     */
+    private boolean isShared;
+
+    /** Whether changes to the graph are being recorded in the journal. */
+    private boolean isJournaling;
+    /**
+     * The changes made to the graph while journaling, three ints per entry: the kind
+     * of change (one of the JOURNAL constants), the node or array index it changed,
+     * and the value there before the change. It is null if the graph has never
+     * journaled.
+     */
+    private int[] journal;
+    /** The number of ints in use in the journal. */
+    private int journalSize;
+    /**
+     * The border sets detached from nodes while journaling, in the order detached, or
+     * null if the graph has never journaled.
+     */
+    private ArrayList<HashSet<Integer>> detachedBorders;
+
+    /**
+     * Queries the number of nodes in the graph. Nodes are numbered from zero to
+     * getNumNodes() - 1.
+     *
+     * @return The number of nodes.
+     */
+    public int getNumNodes() {
+        return this.numNodes;
+    }
+
+    /**
+     * Gets the section of some node.
+     *
+     * @param node The node to get the section of.
+     * @return The section of that node.
+     */
+    public Section getSection(int node) {
+        return getChunk(node).sections[node & CHUNK_MASK];
+    }
+
+    /**
+     * Gets the next member of the feature that a node is in. Starting from any node
+     * and calling this repeatedly will visit every member of the feature exactly once
+     * before returning to the starting node.
+     *
+     * @param node The node to get the next member after.
+     * @return The next member of the same feature.
+     */
+    public int getNextMember(int node) {
+        return getValue(JOURNAL_NEXT_MEMBERS, node);
+    }
+
+    /**
+     * Gets the feature that a section belongs to. The section must be on a confirmed
+     * tile and must not be a cloister.
+     *
+     * @param section The section to get the feature of.
+     * @return The feature of the section, i.e. the node of its root.
+     */
+    public int getFeature(Section section) {
+        assert section.getFeatureNode() != Section.NO_NODE;
+        return find(section.getFeatureNode());
+    }
+
+    /**
+     * Gets the feature that a section belongs to like getFeature(), but without
+     * compressing the path to the root, so it never modifies the graph. This makes it
+     * safe to call from several threads at once as long as nothing else modifies the
+     * graph meanwhile.
+     *
+     * @param section The section to get the feature of.
+     * @return The feature of the section, i.e. the node of its root.
+     */
+    public int findFeature(Section section) {
+        assert section.getFeatureNode() != Section.NO_NODE;
+
+        int node = section.getFeatureNode();
+        while (getValue(JOURNAL_PARENTS, node) != node) {
+            node = getValue(JOURNAL_PARENTS, node);
+        }
+        return node;
+    }
+
+    /**
+     * Queries the type of a feature, which is one of Tile.TYPE_FARM, Tile.TYPE_CITY,
+     * or Tile.TYPE_ROAD.
+     *
+     * @param feature The feature to query.
+     * @return The type of the feature.
+     */
+    public int getType(int feature) {
+        return getSection(feature).getType();
+    }
+
+    /**
+     * Queries whether a feature is closed, i.e. every part of each of its sections has
+     * an adjacent tile.
+     *
+     * @param feature The feature to query.
+     * @return True if the feature is closed, false otherwise.
+     */
+    public boolean isClosed(int feature) {
+        return getOpenEdges(feature) == 0;
+    }
+
+    /**
+     * Queries the number of sections in a feature.
+     *
+     * @param feature The feature to query.
+     * @return The number of sections.
+     */
+    public int getNumSections(int feature) {
+        return getValue(JOURNAL_SIZES, feature);
+    }
+
+    /**
+     * Queries the number of open edges of a feature, i.e. the number of parts in its
+     * sections that have no adjacent tile.
+     *
+     * @param feature The feature to query.
+     * @return The number of open edges.
+     */
+    public int getOpenEdges(int feature) {
+        return getValue(JOURNAL_OPEN_EDGES, feature);
+    }
+
+    /**
+     * Queries the number of distinct tiles that contain part of a feature.
+     *
+     * @param feature The feature to query.
+     * @return The number of tiles in the feature.
+     */
+    public int getNumTiles(int feature) {
+        return getValue(JOURNAL_NUM_TILES, feature);
+    }
+
+    /**
+     * Queries the number of distinct tiles in a feature that have a pennant.
+     *
+     * @param feature The feature to query.
+     * @return The number of tiles with pennants.
+     */
+    public int getNumPennants(int feature) {
+        return getValue(JOURNAL_NUM_PENNANTS, feature);
+    }
+
+    /**
+     * Queries the number of meeples that a player has on a feature.
+     *
+     * @param feature The feature to query.
+     * @param player  The player to count the meeples of.
+     * @return The number of meeples of that player.
+     */
+    public int getNumMeeples(int feature, int player) {
+        return getValue(JOURNAL_MEEPLES,
+                feature * CarcassonneGameState.MAX_PLAYERS + player);
+    }
+
+    /**
+     * Queries the highest number of meeples that any single player has on a feature.
+     * The players with this many meeples are the ones who score the feature.
+     *
+     * @param feature The feature to query.
+     * @return The highest number of meeples, or zero if there are no meeples.
+     */
+    public int getMostMeeples(int feature) {
+        int most = 0;
+        for (int i = 0; i < CarcassonneGameState.MAX_PLAYERS; i++) {
+            most = Math.max(most, getNumMeeples(feature, i));
+        }
+        return most;
+    }
+
+    /**
+     * Gets the features that border a farm or city. For a farm, these are the cities
+     * next to it, and for a city, the farms next to it. The returned set must not be
+     * modified, and is only valid until the next tile is placed.
+     *
+     * @param feature The farm or city feature to query.
+     * @return The set of features bordering the feature.
+     */
+    public HashSet<Integer> getBorderingFeatures(int feature) {
+        return getChunk(feature).borders.get(feature & CHUNK_MASK);
+    }
+
+    /**
+     * Queries the number of closed cities that border a farm. Each is worth three
+     * points to the farm.
+     *
+     * @param farm The farm feature to query.
+     * @return The number of closed cities next to the farm.
+     */
+    public int getNumClosedCities(int farm) {
+        assert getType(farm) == Tile.TYPE_FARM;
+
+        int closed = 0;
+        for (int city : getBorderingFeatures(farm)) {
+            if (isClosed(city)) {
+                closed++;
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Adds a node for each farm, city, and road section of a newly placed tile. The
+     * new nodes are not connected to anything until connect() is called. The meeple
+     * on the tile, if any, is counted on its section's feature. Farms are recorded as
+     * bordering the cities on the same tile.
+     *
+     * @param tile The tile being placed on the board.
+     */
+    public void addTile(Tile tile) {
+        for (Section section : tile.getSections()) {
+            if (section.getType() == Tile.TYPE_CLOISTER) {
+                continue;
+            }
+
+            ensureCapacity(this.numNodes + 1);
+
+            int node = this.numNodes++;
+            section.setFeatureNode(node);
+            journal(JOURNAL_NODE_ADDED, node, 0);
+
+            NodeChunk chunk = getWritableChunk(node);
+            int index = node & CHUNK_MASK;
+
+            chunk.sections[index] = section;
+            chunk.parents[index] = node;
+            chunk.nextMembers[index] = node;
+
+            chunk.sizes[index] = 1;
+            chunk.openEdges[index] = section.getNumParts();
+            chunk.numTiles[index] = 1;
+            chunk.numPennants[index] = tile.hasPennant() ? 1 : 0;
+
+            if (section.hasMeeple()) {
+                chunk.meeples[index * CarcassonneGameState.MAX_PLAYERS +
+                        section.getOwner()]++;
+            }
+
+            chunk.borders.set(index, section.getType() == Tile.TYPE_ROAD ?
+                    null : new HashSet<Integer>());
+            chunk.ownsBorders[index] = true;
+        }
+
+        /* A farm borders a city if the diagonal part of one of its parts is in the
+         * city, as in FarmMeepleAnalysis. Cities on other tiles never need to be
+         * checked since any city next to a farm is also on one of its tiles.
+         */
+        for (Section section : tile.getSections()) {
+            if (section.getType() != Tile.TYPE_FARM) {
+                continue;
+            }
+
+            int farm = section.getFeatureNode();
+            for (int parts = section.getPartMask(); parts != 0; parts &= parts - 1) {
+                int part = Integer.numberOfTrailingZeros(parts);
+                Section diagonalSection = tile.getSection(Tile.getDiagonalPart(part));
+
+                if (diagonalSection.getType() == Tile.TYPE_CITY) {
+                    int city = diagonalSection.getFeatureNode();
+                    getWritableBorders(farm).add(city);
+                    getWritableBorders(city).add(farm);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records that a part of one section touches the opposite part of a section on an
+     * adjacent tile, closing the open edge on both. If the sections are the same type,
+     * their features are merged.
+     *
+     * @param section The section on the tile being placed.
+     * @param other   The section on the adjacent tile, or null if the adjacent tile has
+     *                nothing matching at that part.
+     */
+    public void connect(Section section, Section other) {
+        int root = getFeature(section);
+        setValue(JOURNAL_OPEN_EDGES, root, getOpenEdges(root) - 1);
+
+        if (other == null) {
+            return;
+        }
+
+        int otherRoot = getFeature(other);
+        setValue(JOURNAL_OPEN_EDGES, otherRoot, getOpenEdges(otherRoot) - 1);
+
+        if (root != otherRoot && section.getType() == other.getType()) {
+            union(root, otherRoot);
+        }
+    }
+
+    /**
+     * Removes the meeple on a section from the count of meeples on its feature. It is
+     * a no-op if the section has no node. This must be called before the meeple is
+     * actually removed from the tile.
+     *
+     * @param section The section with the meeple being removed.
+     */
+    public void removeMeeple(Section section) {
+        if (section.getFeatureNode() == Section.NO_NODE) {
+            return;
+        }
+
+        int index = getFeature(section) * CarcassonneGameState.MAX_PLAYERS +
+                section.getOwner();
+        setValue(JOURNAL_MEEPLES, index, getValue(JOURNAL_MEEPLES, index) - 1);
+    }
+
+    /**
+     * Points the nodes of a tile's sections at the sections of a copy of the tile, so
+     * that the copy can take the tile's place on the board. Copied sections keep the
+     * node of the section they were copied from. This is not journaled, so the
+     * original tile must be relinked the same way to undo it.
+     *
+     * @param tile The copy of the tile that the nodes should refer to from now on.
+     */
+    public void relinkTile(Tile tile) {
+        for (Section section : tile.getSections()) {
+            int node = section.getFeatureNode();
+            if (node != Section.NO_NODE) {
+                getWritableChunk(node).sections[node & CHUNK_MASK] = section;
+            }
+        }
+    }
+
+    /**
+     * Starts or stops recording changes to the graph in the journal. Either way, the
+     * journal is emptied, so earlier marks can no longer be rolled back to.
+     *
+     * @param isJournaling Whether to record changes from now on.
+     */
+    public void setJournaling(boolean isJournaling) {
+        if (isJournaling && this.journal == null) {
+            this.journal = new int[INITIAL_JOURNAL_CAPACITY];
+            this.detachedBorders = new ArrayList<>();
+        }
+
+        this.isJournaling = isJournaling;
+        this.journalSize = 0;
+        if (this.detachedBorders != null) {
+            this.detachedBorders.clear();
+        }
+    }
+
+    /**
+     * Gets a mark for the current state of the graph, which can be rolled back to with
+     * rollback() as long as journaling stays on.
+     *
+     * @return The mark of the current state.
+     */
+    public int getJournalMark() {
+        return this.journalSize;
+    }
+
+    /**
+     * Undoes every change recorded in the journal since a mark was gotten, removing
+     * the nodes added since then. The sections of removed nodes are given no node.
+     *
+     * @param mark The mark to roll back to, from getJournalMark().
+     */
+    public void rollback(int mark) {
+        while (this.journalSize > mark) {
+            this.journalSize -= 3;
+
+            int kind = this.journal[this.journalSize];
+            int index = this.journal[this.journalSize + 1];
+            int value = this.journal[this.journalSize + 2];
+
+            switch (kind) {
+                case JOURNAL_BORDER_ADDED:
+                    getWritableBorders(index).remove(value);
+                    break;
+                case JOURNAL_BORDER_REMOVED:
+                    getWritableBorders(index).add(value);
+                    break;
+                case JOURNAL_BORDERS_DETACHED: {
+                    // The detached set may still be shared with another graph, so it
+                    // can't be assumed to be owned.
+                    NodeChunk chunk = getWritableChunk(index);
+                    chunk.borders.set(index & CHUNK_MASK,
+                            this.detachedBorders.remove(this.detachedBorders.size() - 1));
+                    chunk.ownsBorders[index & CHUNK_MASK] = false;
+                    break;
+                }
+                case JOURNAL_NODE_ADDED: {
+                    // Nodes are removed in the reverse order they were added, so this
+                    // is always the last node. Its meeple counts were never journaled.
+                    assert index == this.numNodes - 1;
+                    this.numNodes--;
+
+                    NodeChunk chunk = getWritableChunk(index);
+                    int chunkIndex = index & CHUNK_MASK;
+
+                    chunk.sections[chunkIndex].setFeatureNode(Section.NO_NODE);
+                    chunk.sections[chunkIndex] = null;
+                    Arrays.fill(chunk.meeples,
+                            chunkIndex * CarcassonneGameState.MAX_PLAYERS,
+                            (chunkIndex + 1) * CarcassonneGameState.MAX_PLAYERS, 0);
+                    chunk.borders.set(chunkIndex, null);
+                    break;
+                }
+                default:
+                    writeValue(kind, index, value);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Creates a new, empty feature graph.
+     */
+    public FeatureGraph() {
+        this.chunks = new NodeChunk[] {new NodeChunk()};
+        this.ownedChunks = new boolean[] {true};
+        this.numNodes = 0;
+        this.isShared = false;
+
+        this.isJournaling = false;
+        this.journal = null;
+        this.journalSize = 0;
+        this.detachedBorders = null;
+    }
+
+    /**
+     * Creates a new feature graph that is a copy of another one. Since the graph holds
+     * references to sections, it must be relinked to the sections of the copied
+     * tiles, which must have been copied from the tiles the other graph refers to.
+     *
+     * @param other The feature graph to make a copy of.
+     * @param tiles The copied tiles to relink the graph to.
+     */
+    public FeatureGraph(FeatureGraph other, LongTileMap tiles) {
+        this.chunks = new NodeChunk[other.chunks.length];
+        for (int i = 0; i < this.chunks.length; i++) {
+            this.chunks[i] = new NodeChunk(other.chunks[i], true);
+        }
+        this.ownedChunks = new boolean[this.chunks.length];
+        Arrays.fill(this.ownedChunks, true);
+
+        this.numNodes = other.numNodes;
+        this.isShared = false;
+
+        // The copy starts out with an empty journal, so it can't be rolled back.
+        this.isJournaling = false;
+        this.journal = null;
+        this.journalSize = 0;
+        this.detachedBorders = null;
+
+        // Copied sections keep the node of the section they were copied from, so use
+        // that to put each one in its place.
+        for (int i = 0; i < tiles.getCapacity(); i++) {
+            Tile tile = tiles.getValueAt(i);
+            if (tile == null) {
+                continue;
+            }
+
+            for (Section section : tile.getSections()) {
+                int node = section.getFeatureNode();
+                if (node != Section.NO_NODE) {
+                    NodeChunk chunk = this.chunks[node >>> CHUNK_BITS];
+                    chunk.sections[node & CHUNK_MASK] = section;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a new feature graph that is a copy of another one, referring to the
+     * same sections. The graphs share their chunks until either modifies them, so
+     * this is only valid if the tiles of the sections are shared rather than copied,
+     * and are never modified while shared. The other graph is left untouched if it is
+     * already shared, so such a graph can be copied from several threads at once.
+     *
+     * @param other The feature graph to make a copy of.
+     */
+    public FeatureGraph(FeatureGraph other) {
+        this.chunks = other.chunks;
+
+        this.numNodes = other.numNodes;
+        this.isShared = true;
+        if (!other.isShared) {
+            other.isShared = true;
+        }
+
+        // The copy starts out with an empty journal, so it can't be rolled back.
+        this.isJournaling = false;
+        this.journal = null;
+        this.journalSize = 0;
+        this.detachedBorders = null;
+    }
+
+    /**
+     * Finds the root of the tree containing a node, halving the path to the root on
+     * the way to keep later searches short. The path is left alone while journaling,
+     * since union by size already keeps the trees shallow and the journal would
+     * otherwise fill up with compressions, and in chunks this graph doesn't own, since
+     * other graphs may be reading them.
+     *
+     * @param node The node to find the root of.
+     * @return The root node.
+     */
+    private int find(int node) {
+        for (int parent = getValue(JOURNAL_PARENTS, node); parent != node;
+             parent = getValue(JOURNAL_PARENTS, node)) {
+            if (!this.isJournaling && !this.isShared &&
+                    this.ownedChunks[node >>> CHUNK_BITS]) {
+                parent = getValue(JOURNAL_PARENTS, parent);
+                this.chunks[node >>> CHUNK_BITS].parents[node & CHUNK_MASK] = parent;
+            }
+            node = parent;
+        }
+        return node;
+    }
+
+    /**
+     * Merges two distinct features, combining all their tracked information. Tiles
+     * that have sections in both features are only counted once in the result.
+     *
+     * @param first  The root of the first feature.
+     * @param second The root of the second feature.
+     */
+    private void union(int first, int second) {
+        // Attach the smaller tree under the larger one to keep the trees shallow.
+        int small = getNumSections(first) < getNumSections(second) ? first : second;
+        int large = small == first ? second : first;
+
+        // Find the tiles that are already counted in both features by looking at the
+        // other sections on the tiles of the smaller one.
+        int sharedTiles = 0;
+        int sharedPennants = 0;
+
+        int member = small;
+        do {
+            Tile tile = getSection(member).getParent();
+            boolean firstOfTile = true;
+            boolean inLarge = false;
+
+            for (Section sibling : tile.getSections()) {
+                int siblingNode = sibling.getFeatureNode();
+                if (siblingNode == Section.NO_NODE || siblingNode == member) {
+                    continue;
+                }
+
+                int siblingRoot = find(siblingNode);
+
+                // Only look at each tile once even if it has several sections in the
+                // smaller feature.
+                if (siblingRoot == small && siblingNode < member) {
+                    firstOfTile = false;
+                } else if (siblingRoot == large) {
+                    inLarge = true;
+                }
+            }
+
+            if (firstOfTile && inLarge) {
+                sharedTiles++;
+                if (tile.hasPennant()) {
+                    sharedPennants++;
+                }
+            }
+
+            member = getNextMember(member);
+        } while (member != small);
+
+        // Link the trees and combine the information.
+        setValue(JOURNAL_PARENTS, small, large);
+
+        setValue(JOURNAL_SIZES, large, getNumSections(large) + getNumSections(small));
+        setValue(JOURNAL_OPEN_EDGES, large, getOpenEdges(large) + getOpenEdges(small));
+        setValue(JOURNAL_NUM_TILES, large,
+                getNumTiles(large) + getNumTiles(small) - sharedTiles);
+        setValue(JOURNAL_NUM_PENNANTS, large,
+                getNumPennants(large) + getNumPennants(small) - sharedPennants);
+
+        for (int i = 0; i < CarcassonneGameState.MAX_PLAYERS; i++) {
+            setValue(JOURNAL_MEEPLES, large * CarcassonneGameState.MAX_PLAYERS + i,
+                    getNumMeeples(large, i) + getNumMeeples(small, i));
+        }
+
+        // Move the bordering features over to the new root, pointing each of them at
+        // the new root instead of the old one.
+        HashSet<Integer> smallBorders = getBorderingFeatures(small);
+        if (smallBorders != null) {
+            HashSet<Integer> largeBorders = getWritableBorders(large);
+
+            for (int border : smallBorders) {
+                HashSet<Integer> otherBorders = getWritableBorders(border);
+                if (otherBorders.remove(small)) {
+                    journal(JOURNAL_BORDER_REMOVED, border, small);
+                }
+                if (otherBorders.add(large)) {
+                    journal(JOURNAL_BORDER_ADDED, border, large);
+                }
+
+                if (largeBorders.add(border)) {
+                    journal(JOURNAL_BORDER_ADDED, large, border);
+                }
+            }
+
+            if (this.isJournaling) {
+                this.detachedBorders.add(smallBorders);
+                journal(JOURNAL_BORDERS_DETACHED, small, 0);
+            }
+            getWritableChunk(small).borders.set(small & CHUNK_MASK, null);
+        }
+
+        // Splice the two circular member lists into one.
+        int temp = getNextMember(small);
+        setValue(JOURNAL_NEXT_MEMBERS, small, getNextMember(large));
+        setValue(JOURNAL_NEXT_MEMBERS, large, temp);
+    }
+
+    /**
+     * Records a change to the graph in the journal if journaling is on.
+     *
+     * @param kind  The kind of change, one of the JOURNAL constants.
+     * @param index The node or array index that was changed.
+     * @param value The value needed to undo the change.
+     */
+    private void journal(int kind, int index, int value) {
+        if (!this.isJournaling) {
+            return;
+        }
+
+        if (this.journalSize + 3 > this.journal.length) {
+            this.journal = Arrays.copyOf(this.journal, this.journal.length * 2);
+        }
+
+        this.journal[this.journalSize++] = kind;
+        this.journal[this.journalSize++] = index;
+        this.journal[this.journalSize++] = value;
+    }
+
+    /**
+     * Gets an element of one of the node arrays.
+     *
+     * @param kind  The kind of journal entry for the array, from JOURNAL_PARENTS to
+     *              JOURNAL_MEEPLES.
+     * @param index The index of the element, which is a node except for
+     *              JOURNAL_MEEPLES, where it is node * MAX_PLAYERS + player.
+     * @return The value of the element.
+     */
+    private int getValue(int kind, int index) {
+        if (kind == JOURNAL_MEEPLES) {
+            return this.chunks[index / CHUNK_MEEPLES].meeples[index % CHUNK_MEEPLES];
+        }
+        return getArray(getChunk(index), kind)[index & CHUNK_MASK];
+    }
+
+    /**
+     * Sets an element of one of the node arrays, recording its old value in the
+     * journal if journaling is on.
+     *
+     * @param kind  The kind of journal entry for the array, as for getValue().
+     * @param index The index of the element, as for getValue().
+     * @param value The new value of the element.
+     */
+    private void setValue(int kind, int index, int value) {
+        if (this.isJournaling) {
+            journal(kind, index, getValue(kind, index));
+        }
+        writeValue(kind, index, value);
+    }
+
+    /**
+     * Sets an element of one of the node arrays without journaling it, first copying
+     * its chunk if necessary.
+     *
+     * @param kind  The kind of journal entry for the array, as for getValue().
+     * @param index The index of the element, as for getValue().
+     * @param value The new value of the element.
+     */
+    private void writeValue(int kind, int index, int value) {
+        if (kind == JOURNAL_MEEPLES) {
+            NodeChunk chunk = getWritableChunk(index / CarcassonneGameState.MAX_PLAYERS);
+            chunk.meeples[index % CHUNK_MEEPLES] = value;
+        } else {
+            getArray(getWritableChunk(index), kind)[index & CHUNK_MASK] = value;
+        }
+    }
+
+    /**
+     * Gets the array of a chunk that a kind of journal entry records writes to.
+     *
+     * @param chunk The chunk to get the array of.
+     * @param kind  The kind of journal entry, from JOURNAL_PARENTS to
+     *              JOURNAL_NUM_PENNANTS.
+     * @return The array of the chunk.
+     */
+    private static int[] getArray(NodeChunk chunk, int kind) {
+        switch (kind) {
+            case JOURNAL_PARENTS:
+                return chunk.parents;
+            case JOURNAL_NEXT_MEMBERS:
+                return chunk.nextMembers;
+            case JOURNAL_SIZES:
+                return chunk.sizes;
+            case JOURNAL_OPEN_EDGES:
+                return chunk.openEdges;
+            case JOURNAL_NUM_TILES:
+                return chunk.numTiles;
+            default:
+                assert kind == JOURNAL_NUM_PENNANTS;
+                return chunk.numPennants;
+        }
+    }
+
+    /**
+     * Gets the chunk containing a node for reading.
+     *
+     * @param node The node to get the chunk of.
+     * @return The chunk containing the node.
+     */
+    private NodeChunk getChunk(int node) {
+        return this.chunks[node >>> CHUNK_BITS];
+    }
+
+    /**
+     * Gets the chunk containing a node for writing, first copying the directory of
+     * chunks if it may be shared and the chunk itself if this graph doesn't have its
+     * own copy of it.
+     *
+     * @param node The node to get the chunk of.
+     * @return The chunk containing the node, which this graph owns.
+     */
+    private NodeChunk getWritableChunk(int node) {
+        int index = node >>> CHUNK_BITS;
+
+        if (this.isShared) {
+            this.chunks = this.chunks.clone();
+            this.ownedChunks = new boolean[this.chunks.length];
+            this.isShared = false;
+        }
+        if (!this.ownedChunks[index]) {
+            this.chunks[index] = new NodeChunk(this.chunks[index], false);
+            this.ownedChunks[index] = true;
+        }
+
+        return this.chunks[index];
+    }
+
+    /**
+     * Gets the border set of a farm or city node for writing, first copying it if this
+     * graph doesn't have its own copy of it.
+     *
+     * @param node The node to get the border set of.
+     * @return The border set of the node, which this graph owns.
+     */
+    private HashSet<Integer> getWritableBorders(int node) {
+        NodeChunk chunk = getWritableChunk(node);
+        int index = node & CHUNK_MASK;
+
+        if (!chunk.ownsBorders[index]) {
+            chunk.borders.set(index, new HashSet<>(chunk.borders.get(index)));
+            chunk.ownsBorders[index] = true;
+        }
+        return chunk.borders.get(index);
+    }
+
+    /**
+     * Adds new, empty chunks if necessary so that there is space for at least the
+     * specified number of nodes.
+     *
+     * @param capacity The number of nodes that must fit.
+     */
+    private void ensureCapacity(int capacity) {
+        int numChunks = (capacity + CHUNK_MASK) >>> CHUNK_BITS;
+        int oldNumChunks = this.chunks.length;
+        if (numChunks <= oldNumChunks) {
+            return;
+        }
+
+        this.chunks = Arrays.copyOf(this.chunks, numChunks);
+        this.ownedChunks = this.isShared ?
+                new boolean[numChunks] : Arrays.copyOf(this.ownedChunks, numChunks);
+        this.isShared = false;
+
+        for (int i = oldNumChunks; i < numChunks; i++) {
+            this.chunks[i] = new NodeChunk();
+            this.ownedChunks[i] = true;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.carcassonne;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A change made to the game state by a player's action, small enough to be sent to
+ * the players after every action instead of a copy of the whole game state. Each
+ * player starts from a full copy of the game state and keeps it up to date by applying
+ * the events to it with CarcassonneGameState.applyEvent().
+ *
+ * The events for the actions themselves, like moving or confirming the current tile,
+ * are applied by doing the same action on the copy. Since the game plays out the same
+ * for the same seed and actions, the copy ends up exactly like the original, including
+ * the tile that is drawn next. The results of confirming a turn, i.e. the new scores
+ * and the start of the next turn, are sent as events too, but only so the copy can be
+ * checked against them, which catches a copy that has fallen out of sync right away.
+ *
+ * For lockstep play, where only the actions themselves are sent, a turn is confirmed
+ * with MEEPLE_CONFIRMED instead, and the results are checked all at once every so
+ * often with the hash of the whole game state in a STATE_HASH event.
+ *
+ * Each event is a kind and a few ints whose meanings depend on the kind.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class GameEvent implements Serializable {
+    /** The current tile was moved. The values are its new X and Y position. */
+    public static final int TILE_MOVED = 0;
+    /** The current tile was rotated. The value is its new rotation in degrees. */
+    public static final int TILE_ROTATED = 1;
+    /** The position of the current tile was confirmed. There are no values. */
+    public static final int TILE_CONFIRMED = 2;
+    /** The turn was reset back to placing the current tile. There are no values. */
+    public static final int TURN_RESET = 3;
+    /**
+     * A meeple was placed on the current tile, or removed from it. The value is the
+     * index of the meeple's section, or MoveList.NO_SECTION if there is no meeple.
+     */
+    public static final int MEEPLE_PLACED = 4;
+    /**
+     * The meeple placement was confirmed, ending the turn and scoring the tile. The
+     * values are the meeples, complete score, and incomplete score of each player
+     * afterwards, in that order.
+     */
+    public static final int SCORES_CHANGED = 5;
+    /**
+     * A new turn started after the last one ended. The values are the new current
+     * player, and the ID and rotation of the tile they drew. There is no such event
+     * once the game is over.
+     */
+    public static final int TURN_STARTED = 6;
+    /**
+     * The meeple placement was confirmed, ending the turn and scoring the tile, like
+     * SCORES_CHANGED but without the results to check. There are no values.
+     */
+    public static final int MEEPLE_CONFIRMED = 7;
+    /**
+     * The game state has some hash (see CarcassonneGameState.getHash()). The values
+     * are the high and low halves of the hash.
+     */
+    public static final int STATE_HASH = 8;
+
+    /** The kind of event, one of the constants above. */
+    private final int kind;
+    /** The values of the event, which depend on its kind. */
+    private final int[] values;
+
+    /**
+     * Creates an event for moving the current tile.
+     *
+     * @param x The new X position of the tile.
+     * @param y The new Y position of the tile.
+     * @return The new event.
+     */
+    public static GameEvent tileMoved(int x, int y) {
+        return new GameEvent(TILE_MOVED, x, y);
+    }
+
+    /**
+     * Creates an event for rotating the current tile.
+     *
+     * @param rotation The new rotation of the tile in degrees.
+     * @return The new event.
+     */
+    public static GameEvent tileRotated(int rotation) {
+        return new GameEvent(TILE_ROTATED, rotation);
+    }
+
+    /**
+     * Creates an event for confirming the position of the current tile.
+     *
+     * @return The new event.
+     */
+    public static GameEvent tileConfirmed() {
+        return new GameEvent(TILE_CONFIRMED);
+    }
+
+    /**
+     * Creates an event for resetting the turn back to placing the current tile.
+     *
+     * @return The new event.
+     */
+    public static GameEvent turnReset() {
+        return new GameEvent(TURN_RESET);
+    }
+
+    /**
+     * Creates an event for placing or removing the meeple on the current tile.
+     *
+     * @param tile The current tile, after the meeple was placed or removed.
+     * @return The new event.
+     */
+    public static GameEvent meeplePlaced(Tile tile) {
+        Section section = tile.getMeepleSection();
+        return new GameEvent(MEEPLE_PLACED,
+                (section == null) ? MoveList.NO_SECTION : section.getIndex());
+    }
+
+    /**
+     * Creates an event for confirming the meeple placement, with the meeples and scores
+     * of each player afterwards.
+     *
+     * @param gameState The game state after the meeple placement was confirmed.
+     * @return The new event.
+     */
+    public static GameEvent scoresChanged(CarcassonneGameState gameState) {
+        int numPlayers = gameState.getNumPlayers();
+
+        int[] values = new int[numPlayers * 3];
+        for (int i = 0; i < numPlayers; i++) {
+            values[i] = gameState.getPlayerMeeples(i);
+            values[numPlayers + i] = gameState.getPlayerCompleteScore(i);
+            values[numPlayers * 2 + i] = gameState.getPlayerIncompleteScore(i);
+        }
+
+        return new GameEvent(SCORES_CHANGED, values);
+    }
+
+    /**
+     * Creates an event for starting a new turn, with the new current player and tile.
+     *
+     * @param gameState The game state after the turn started. The game must not be
+     *                  over.
+     * @return The new event.
+     */
+    public static GameEvent turnStarted(CarcassonneGameState gameState) {
+        Tile tile = gameState.getBoard().getCurrentTile();
+        return new GameEvent(TURN_STARTED, gameState.getCurrentPlayer(), tile.getId(),
+                tile.getRotation());
+    }
+
+    /**
+     * Creates an event for confirming the meeple placement, without the results.
+     *
+     * @return The new event.
+     */
+    public static GameEvent meepleConfirmed() {
+        return new GameEvent(MEEPLE_CONFIRMED);
+    }
+
+    /**
+     * Creates an event with the hash of a game state, which the game states it is
+     * applied to must have too.
+     *
+     * @param gameState The game state to get the hash of.
+     * @return The new event.
+     */
+    public static GameEvent stateHash(CarcassonneGameState gameState) {
+        long hash = gameState.getHash();
+        return new GameEvent(STATE_HASH, (int)(hash >>> 32), (int)hash);
+    }
+
+    /**
+     * Queries the kind of the event.
+     *
+     * @return The kind of the event, one of the constants in this class.
+     */
+    public int getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Gets one of the values of the event. Which values there are depends on the
+     * kind of event.
+     *
+     * @param index The index of the value.
+     * @return The value.
+     */
+    public int getValue(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * Queries whether another object is an event of the same kind with the same
+     * values.
+     *
+     * @param other The object to compare to.
+     * @return True if the events are the same, false otherwise.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof GameEvent)) {
+            return false;
+        }
+
+        GameEvent event = (GameEvent)other;
+        return this.kind == event.kind && Arrays.equals(this.values, event.values);
+    }
+
+    /**
+     * Computes a hash code consistent with equals().
+     *
+     * @return The hash code of the event.
+     */
+    @Override
+    public int hashCode() {
+        return this.kind * 31 + Arrays.hashCode(this.values);
+    }
+
+    /**
+     * Converts the event to a string representation showing its kind and values.
+     *
+     * @return The string representation of the event.
+     */
+    @Override
+    public String toString() {
+        ToStringer toStr = new ToStringer("GameEvent");
+
+        toStr.add("kind", this.kind);
+        toStr.add("values", this.values);
+
+        return toStr.toString();
+    }
+
+    /**
+     * Creates a new event. Use the static methods of this class to create events of
+     * each kind.
+     *
+     * @param kind   The kind of event.
+     * @param values The values of the event.
+     */
+    private GameEvent(int kind, int... values) {
+        this.kind = kind;
+        this.values = values;
+    }
+}
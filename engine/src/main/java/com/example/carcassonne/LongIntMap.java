@@ -0,0 +1,97 @@
+package com.example.carcassonne;
+
+/**
+ * A hash map from positions packed into a long to ints, used by Board for the frontier
+ * and the registry of occupied cloisters. See LongKeyedChunkMap for how it is stored
+ * and shared. Neither the keys nor the values are ever boxed. A zero value marks an
+ * empty slot, so zero cannot be stored, and get() returns zero for keys that are not
+ * in the map.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class LongIntMap extends LongKeyedChunkMap<int[]> {
+    /**
+     * Gets the value stored in the specified slot.
+     *
+     * @param slot The slot to get the value of, in the range 0 to getCapacity() - 1.
+     * @return The value in that slot, or zero if the slot is empty.
+     */
+    public int getValueAt(int slot) {
+        return getValueChunk(slot)[slot & CHUNK_MASK];
+    }
+
+    /**
+     * Gets the value with the specified key.
+     *
+     * @param key The key to look up.
+     * @return The value with that key, or zero if there is none.
+     */
+    public int get(long key) {
+        return getValueAt(findSlot(key));
+    }
+
+    /**
+     * Sets the value with the specified key, replacing any value that already had
+     * that key.
+     *
+     * @param key   The key to store the value under.
+     * @param value The value to store. Must not be zero.
+     */
+    public void put(long key, int value) {
+        assert value != 0;
+
+        int slot = findSlot(key);
+        boolean isNew = isEmptyAt(slot);
+
+        getWritableChunk(slot, key)[slot & CHUNK_MASK] = value;
+        if (isNew) {
+            onInserted();
+        }
+    }
+
+    /**
+     * Creates a new, empty map.
+     */
+    public LongIntMap() {
+        super();
+    }
+
+    /**
+     * Creates a new map that is a copy of another map. The maps share their chunks
+     * until either modifies them.
+     *
+     * @param other The map to make a copy of.
+     */
+    public LongIntMap(LongIntMap other) {
+        super(other, true);
+    }
+
+    @Override
+    protected int[] newValueChunk() {
+        return new int[CHUNK_SIZE];
+    }
+
+    @Override
+    protected int[] copyValueChunk(int[] chunk) {
+        return chunk.clone();
+    }
+
+    @Override
+    protected boolean isEmpty(int[] chunk, int index) {
+        return chunk[index] == 0;
+    }
+
+    @Override
+    protected void copyValue(int[] from, int fromIndex, int[] to, int toIndex) {
+        to[toIndex] = from[fromIndex];
+    }
+
+    @Override
+    protected void clearValue(int[] chunk, int index) {
+        chunk[index] = 0;
+    }
+}
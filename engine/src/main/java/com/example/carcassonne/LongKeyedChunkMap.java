@@ -0,0 +1,361 @@
+package com.example.carcassonne;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The base of the hash maps from positions packed into a long to values that Board
+ * uses, LongTileMap and LongIntMap. It uses open addressing with linear probing over
+ * parallel arrays, so lookups never box the key or allocate. Entries are only removed
+ * when moves are undone, so removal shifts entries back rather than leaving tombstones.
+ *
+ * The slots are split into chunks of CHUNK_SIZE slots each. Copies made with the
+ * sharing constructor share every chunk with the original, so copying a map is
+ * constant time. The first time either map modifies a slot afterwards, it copies the
+ * directory of chunks, which is CHUNK_SIZE times smaller than the map, and the one
+ * chunk containing the slot. Later writes only copy the chunks they touch for the
+ * first time.
+ *
+ * This class holds the keys and does all the probing and sharing. Subclasses only
+ * provide the chunks of values, where some value marks an empty slot, and read and
+ * write the values in them.
+ *
+ * @param <C> The type of a chunk of values, such as an array of CHUNK_SIZE values.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public abstract class LongKeyedChunkMap<C> implements Serializable {
+    /** The number of bits of a slot that give its index within its chunk. */
+    protected static final int CHUNK_BITS = 5;
+    /** The number of slots in each chunk. */
+    protected static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    /** The mask of the bits of a slot that give its index within its chunk. */
+    protected static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * The initial number of slots in the map. Must be a power of two that is at least
+     * CHUNK_SIZE.
+     */
+    private static final int INITIAL_CAPACITY = CHUNK_SIZE;
+
+    /**
+     * The keys of each slot in the map, by chunk. Only meaningful if the slot is not
+     * empty.
+     */
+    private long[][] keys;
+    /** The chunks of values of the slots in the map, each of type C. */
+    private Object[] values;
+
+    /**
+     * Whether this map has its own copy of each chunk, in which case it may modify the
+     * chunk in place. Only meaningful if isShared is false.
+     */
+    private boolean[] ownedChunks;
+
+    /** The number of slots in the map. */
+    private int capacity;
+    /** The number of non-empty slots in the map. */
+    private int size;
+
+    /**
+     * Whether the directories of chunks may be shared with another map, in which case
+     * none of the chunks are owned.
+     */
+    private boolean isShared;
+
+    /**
+     * Creates a new chunk of values with every slot empty.
+     *
+     * @return The new chunk.
+     */
+    protected abstract C newValueChunk();
+
+    /**
+     * Creates a copy of a chunk of values.
+     *
+     * @param chunk The chunk to copy.
+     * @return The new chunk.
+     */
+    protected abstract C copyValueChunk(C chunk);
+
+    /**
+     * Queries whether a slot in a chunk of values is empty.
+     *
+     * @param chunk The chunk to query.
+     * @param index The index of the slot within the chunk.
+     * @return True if the slot is empty, false otherwise.
+     */
+    protected abstract boolean isEmpty(C chunk, int index);
+
+    /**
+     * Copies the value of a slot in one chunk to a slot in another.
+     *
+     * @param from      The chunk to copy the value from.
+     * @param fromIndex The index of the slot to copy from within its chunk.
+     * @param to        The chunk to copy the value to, which this map owns.
+     * @param toIndex   The index of the slot to copy to within its chunk.
+     */
+    protected abstract void copyValue(C from, int fromIndex, C to, int toIndex);
+
+    /**
+     * Empties a slot in a chunk of values.
+     *
+     * @param chunk The chunk, which this map owns.
+     * @param index The index of the slot within the chunk.
+     */
+    protected abstract void clearValue(C chunk, int index);
+
+    /**
+     * Queries the number of entries in the map.
+     *
+     * @return The number of entries in the map.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Queries the number of slots in the map. Together with getKeyAt() and the
+     * subclass's getValueAt(), this allows iterating over every entry in the map.
+     *
+     * @return The number of slots in the map.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Gets the key stored in the specified slot. It is only meaningful if the slot is
+     * not empty.
+     *
+     * @param slot The slot to get the key of, in the range 0 to getCapacity() - 1.
+     * @return The key in that slot.
+     */
+    public long getKeyAt(int slot) {
+        return this.keys[slot >>> CHUNK_BITS][slot & CHUNK_MASK];
+    }
+
+    /**
+     * Removes the entry with the specified key, if there is one. The entries after it
+     * in the same probe sequence are shifted back into the hole it leaves, so that
+     * lookups never stop early at an empty slot.
+     *
+     * @param key The key of the entry to remove.
+     */
+    public void remove(long key) {
+        int slot = findSlot(key);
+        if (isEmptyAt(slot)) {
+            return;
+        }
+
+        int mask = this.capacity - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; !isEmptyAt(next); next = (next + 1) & mask) {
+            // An entry can only move back into the hole if its home slot is not
+            // between the hole and where it is now.
+            int home = hash(getKeyAt(next)) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                C chunk = getWritableChunk(hole, getKeyAt(next));
+                copyValue(getValueChunk(next), next & CHUNK_MASK,
+                        chunk, hole & CHUNK_MASK);
+                hole = next;
+            }
+        }
+
+        clearValue(getWritableChunk(hole, 0), hole & CHUNK_MASK);
+        this.size--;
+    }
+
+    /**
+     * Finds the slot with the specified key, or the empty slot where it would be
+     * inserted if there is none.
+     *
+     * @param key The key to look up.
+     * @return The slot of the key.
+     */
+    protected int findSlot(long key) {
+        int mask = this.capacity - 1;
+
+        int slot = hash(key) & mask;
+        while (!isEmptyAt(slot) && getKeyAt(slot) != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Queries whether a slot is empty.
+     *
+     * @param slot The slot to query.
+     * @return True if the slot is empty, false otherwise.
+     */
+    protected boolean isEmptyAt(int slot) {
+        return isEmpty(getValueChunk(slot), slot & CHUNK_MASK);
+    }
+
+    /**
+     * Gets the chunk of values containing a slot for reading.
+     *
+     * @param slot The slot to get the chunk of.
+     * @return The chunk containing the slot.
+     */
+    @SuppressWarnings("unchecked")
+    protected C getValueChunk(int slot) {
+        return (C)this.values[slot >>> CHUNK_BITS];
+    }
+
+    /**
+     * Sets the key of a slot and gets the chunk of values containing it for writing,
+     * first copying the chunk if this map doesn't have its own copy of it. The caller
+     * must then write the value at index slot & CHUNK_MASK.
+     *
+     * @param slot The slot to set.
+     * @param key  The new key of the slot.
+     * @return The chunk of values containing the slot, which this map owns.
+     */
+    @SuppressWarnings("unchecked")
+    protected C getWritableChunk(int slot, long key) {
+        int chunk = slot >>> CHUNK_BITS;
+
+        if (this.isShared) {
+            this.keys = this.keys.clone();
+            this.values = this.values.clone();
+            this.ownedChunks = new boolean[this.values.length];
+            this.isShared = false;
+        }
+        if (!this.ownedChunks[chunk]) {
+            this.keys[chunk] = this.keys[chunk].clone();
+            this.values[chunk] = copyValueChunk((C)this.values[chunk]);
+            this.ownedChunks[chunk] = true;
+        }
+
+        this.keys[chunk][slot & CHUNK_MASK] = key;
+        return (C)this.values[chunk];
+    }
+
+    /**
+     * Records that a value was just written to a slot that was empty, growing the map
+     * if it is getting too full.
+     */
+    protected void onInserted() {
+        this.size++;
+
+        // Keep the map at most half full so probe sequences stay short.
+        if (this.size * 2 > this.capacity) {
+            resize(this.capacity * 2);
+        }
+    }
+
+    /**
+     * Creates a new, empty map.
+     */
+    protected LongKeyedChunkMap() {
+        allocate(INITIAL_CAPACITY);
+        this.size = 0;
+    }
+
+    /**
+     * Creates a new map that is a copy of another map.
+     *
+     * If isShared is true, the maps share their chunks until either modifies them. The
+     * other map is only written to if it isn't marked as shared yet, so a map that is
+     * already shared can be copied from several threads at once as long as nothing
+     * modifies it.
+     *
+     * Otherwise, each chunk is copied right away with copyValueChunk(), and the copy
+     * owns all of them.
+     *
+     * @param other    The map to make a copy of.
+     * @param isShared Whether to share the chunks with the other map.
+     */
+    @SuppressWarnings("unchecked")
+    protected LongKeyedChunkMap(LongKeyedChunkMap<C> other, boolean isShared) {
+        this.capacity = other.capacity;
+        this.size = other.size;
+
+        if (isShared) {
+            this.keys = other.keys;
+            this.values = other.values;
+
+            this.isShared = true;
+            if (!other.isShared) {
+                other.isShared = true;
+            }
+        } else {
+            this.keys = Util.deepCopyArray(other.keys, Util::copyArray);
+            this.values = new Object[other.values.length];
+            for (int i = 0; i < this.values.length; i++) {
+                this.values[i] = copyValueChunk((C)other.values[i]);
+            }
+
+            this.ownedChunks = new boolean[this.values.length];
+            Arrays.fill(this.ownedChunks, true);
+            this.isShared = false;
+        }
+    }
+
+    /**
+     * Replaces the chunks with new, empty ones that this map owns.
+     *
+     * @param capacity The new number of slots. Must be a power of two that is at
+     *                 least CHUNK_SIZE.
+     */
+    private void allocate(int capacity) {
+        int numChunks = capacity >>> CHUNK_BITS;
+
+        this.keys = new long[numChunks][CHUNK_SIZE];
+        this.values = new Object[numChunks];
+        for (int i = 0; i < numChunks; i++) {
+            this.values[i] = newValueChunk();
+        }
+        this.ownedChunks = new boolean[numChunks];
+        Arrays.fill(this.ownedChunks, true);
+
+        this.capacity = capacity;
+        this.isShared = false;
+    }
+
+    /**
+     * Rehashes every entry in the map into a new set of slots.
+     *
+     * @param capacity The new number of slots. Must be a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        long[][] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            C oldChunk = (C)oldValues[i];
+
+            for (int j = 0; j < CHUNK_SIZE; j++) {
+                if (isEmpty(oldChunk, j)) {
+                    continue;
+                }
+
+                int slot = findSlot(oldKeys[i][j]);
+                copyValue(oldChunk, j, getWritableChunk(slot, oldKeys[i][j]),
+                        slot & CHUNK_MASK);
+            }
+        }
+    }
+
+    /**
+     * Mixes the bits of a key into a hash. Packed positions differ mostly in their
+     * low bits of each half, so they must be mixed to spread across the slots.
+     *
+     * @param key The key to hash.
+     * @return The hash of the key.
+     */
+    private static int hash(long key) {
+        key = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+        key = (key ^ (key >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int)(key ^ (key >>> 33));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.carcassonne;
+
+/**
+ * A hash map from positions packed into a long to tiles, used by Board to store its
+ * tiles sparsely. See LongKeyedChunkMap for how it is stored and shared. A null value
+ * marks an empty slot, so null tiles cannot be stored.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class LongTileMap extends LongKeyedChunkMap<Tile[]> {
+    /**
+     * Gets the tile stored in the specified slot.
+     *
+     * @param slot The slot to get the tile of, in the range 0 to getCapacity() - 1.
+     * @return The tile in that slot, or null if the slot is empty.
+     */
+    public Tile getValueAt(int slot) {
+        return getValueChunk(slot)[slot & CHUNK_MASK];
+    }
+
+    /**
+     * Gets the tile with the specified key.
+     *
+     * @param key The key to look up.
+     * @return The tile with that key, or null if there is none.
+     */
+    public Tile get(long key) {
+        return getValueAt(findSlot(key));
+    }
+
+    /**
+     * Sets the tile with the specified key, replacing any tile that already had
+     * that key.
+     *
+     * @param key   The key to store the tile under.
+     * @param value The tile to store. Must not be null.
+     */
+    public void put(long key, Tile value) {
+        assert value != null;
+
+        int slot = findSlot(key);
+        boolean isNew = isEmptyAt(slot);
+
+        getWritableChunk(slot, key)[slot & CHUNK_MASK] = value;
+        if (isNew) {
+            onInserted();
+        }
+    }
+
+    /**
+     * Creates a new, empty map.
+     */
+    public LongTileMap() {
+        super();
+    }
+
+    /**
+     * Creates a new map that is a copy of another map, sharing the same tiles. The
+     * maps share their chunks until either modifies them.
+     *
+     * @param other The map to make a copy of.
+     */
+    public LongTileMap(LongTileMap other) {
+        super(other, true);
+    }
+
+    /**
+     * Creates a new map that is a copy of another map, copying each tile with the
+     * specified copier.
+     *
+     * @param other  The map to make a copy of.
+     * @param copier The function to copy each tile with.
+     */
+    public LongTileMap(LongTileMap other, Util.Copier<Tile> copier) {
+        super(other, false);
+
+        // The chunks are already this map's own, so the tiles can be replaced in place.
+        for (int slot = 0; slot < getCapacity(); slot++) {
+            Tile[] chunk = getValueChunk(slot);
+            if (chunk[slot & CHUNK_MASK] != null) {
+                chunk[slot & CHUNK_MASK] = copier.copy(chunk[slot & CHUNK_MASK]);
+            }
+        }
+    }
+
+    @Override
+    protected Tile[] newValueChunk() {
+        return new Tile[CHUNK_SIZE];
+    }
+
+    @Override
+    protected Tile[] copyValueChunk(Tile[] chunk) {
+        return chunk.clone();
+    }
+
+    @Override
+    protected boolean isEmpty(Tile[] chunk, int index) {
+        return chunk[index] == null;
+    }
+
+    @Override
+    protected void copyValue(Tile[] from, int fromIndex, Tile[] to, int toIndex) {
+        to[toIndex] = from[fromIndex];
+    }
+
+    @Override
+    protected void clearValue(Tile[] chunk, int index) {
+        chunk[index] = null;
+    }
+}
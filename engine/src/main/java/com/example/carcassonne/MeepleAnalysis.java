@@ -144,7 +144,7 @@ public abstract class MeepleAnalysis {
             // If this section has one of the scoring player's meeples, remove it
             // and increment their player meeples count.
             if (section.hasMeeple() && scoringPlayers.contains(owner)) {
-                section.getParent().removeMeeple();
+                this.board.removeMeeple(section.getParent());
                 playerMeeples[owner]++;
             }
         }
@@ -278,8 +278,11 @@ public abstract class MeepleAnalysis {
     public static void analyzeBoard(Board board, Analyzer analyzer) {
         HashSet<Section> visitedSections = new HashSet<>();
 
-        for (int x = 0; x < board.getWidth(); x++) {
-            for (int y = 0; y < board.getHeight(); y++) {
+        int minX = board.getMinX();
+        int minY = board.getMinY();
+
+        for (int x = minX; x < minX + board.getWidth(); x++) {
+            for (int y = minY; y < minY + board.getHeight(); y++) {
                 Tile tile = board.getTile(x, y);
 
                 // Don't analyze null tiles.
@@ -0,0 +1,151 @@
+package com.example.carcassonne;
+
+import java.util.Arrays;
+
+/**
+ * A reusable list of moves, where each move is a placement of the current tile packed
+ * into a single long: its X and Y position, its rotation, and the index of the section
+ * to put a meeple on, if any. Board fills move lists with its placement generators so
+ * that callers generating many moves, like AIs, don't allocate an object per move. The
+ * list grows as needed and keeps its storage when cleared, so it can be reused for
+ * every turn.
+ *
+ * The layout of a packed move, from the most significant bit down, is:
+ *
+ * - 28 bits: The signed X position.
+ * - 28 bits: The signed Y position.
+ * - 2 bits:  The number of clockwise quarter turns of the rotation.
+ * - 6 bits:  The index of the meeple section in the tile's definition plus one, or
+ *            zero if there is no meeple.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class MoveList {
+    /** The initial number of moves there is space for. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Indicates that a move has no meeple. */
+    public static final int NO_SECTION = -1;
+
+    /** The packed moves in the list. */
+    private long[] moves;
+    /** The number of moves in the list. */
+    private int size;
+
+    /**
+     * Packs a move into a long.
+     *
+     * @param x            The X position of the tile.
+     * @param y            The Y position of the tile.
+     * @param rotation     The rotation of the tile in degrees, a multiple of 90 in the
+     *                     range 0-270.
+     * @param sectionIndex The index of the section to put a meeple on, or NO_SECTION if
+     *                     there is no meeple.
+     * @return The packed move.
+     */
+    public static long pack(int x, int y, int rotation, int sectionIndex) {
+        return ((long)x << 36) |
+                (((long)y & 0xFFFFFFFL) << 8) |
+                ((rotation / 90) << 6) |
+                (sectionIndex + 1);
+    }
+
+    /**
+     * Gets the X position of a packed move.
+     *
+     * @param move The packed move.
+     * @return The X position of the tile.
+     */
+    public static int getX(long move) {
+        return (int)(move >> 36);
+    }
+
+    /**
+     * Gets the Y position of a packed move.
+     *
+     * @param move The packed move.
+     * @return The Y position of the tile.
+     */
+    public static int getY(long move) {
+        return (int)((move << 28) >> 36);
+    }
+
+    /**
+     * Gets the rotation of a packed move.
+     *
+     * @param move The packed move.
+     * @return The rotation of the tile in degrees.
+     */
+    public static int getRotation(long move) {
+        return (int)((move >>> 6) & 0x3) * 90;
+    }
+
+    /**
+     * Gets the meeple section index of a packed move.
+     *
+     * @param move The packed move.
+     * @return The index of the section to put a meeple on, or NO_SECTION if there is
+     *         no meeple.
+     */
+    public static int getSectionIndex(long move) {
+        return (int)(move & 0x3F) - 1;
+    }
+
+    /**
+     * Queries the number of moves in the list.
+     *
+     * @return The number of moves.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Queries whether the list has no moves.
+     *
+     * @return True if the list is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Gets the packed move at some index in the list.
+     *
+     * @param index The index of the move, in the range 0 to size() - 1.
+     * @return The packed move.
+     */
+    public long get(int index) {
+        assert index < this.size;
+        return this.moves[index];
+    }
+
+    /**
+     * Adds a packed move to the end of the list, growing it if necessary.
+     *
+     * @param move The packed move to add.
+     */
+    public void add(long move) {
+        if (this.size == this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, this.moves.length * 2);
+        }
+        this.moves[this.size++] = move;
+    }
+
+    /** Removes every move from the list, keeping its storage for reuse. */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Creates a new, empty move list.
+     */
+    public MoveList() {
+        this.moves = new long[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+}
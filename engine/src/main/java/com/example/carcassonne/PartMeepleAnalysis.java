@@ -1,6 +1,7 @@
 package com.example.carcassonne;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 
 /**
@@ -15,6 +16,51 @@ import java.util.HashSet;
  * are required to implement is getScore().
  */
 public abstract class PartMeepleAnalysis extends MeepleAnalysis {
+    /**
+     * A growable stack of (x, y, part) entries, packed three ints per entry into a
+     * primitive array, used by partAnalysis() in place of recursion.
+     */
+    protected static class WorkStack {
+        /** The initial number of ints there is space for. */
+        private static final int INITIAL_CAPACITY = 3 * 64;
+
+        /** The entries on the stack, three ints each. */
+        private int[] entries = new int[INITIAL_CAPACITY];
+        /** The number of ints on the stack, which is three times the entry count. */
+        private int size = 0;
+
+        /**
+         * Pushes an entry onto the stack, growing it if necessary.
+         *
+         * @param x    The X position of the tile to walk.
+         * @param y    The Y position of the tile to walk.
+         * @param part The part or road part of the section to walk.
+         */
+        public void push(int x, int y, int part) {
+            if (this.size + 3 > this.entries.length) {
+                this.entries = Arrays.copyOf(this.entries, this.entries.length * 2);
+            }
+
+            this.entries[this.size] = x;
+            this.entries[this.size + 1] = y;
+            this.entries[this.size + 2] = part;
+            this.size += 3;
+        }
+    }
+
+    /**
+     * The work stack for each thread, reused across analyses so that they don't need
+     * to allocate. Each analysis only uses the part of the stack above where it was
+     * when the analysis started, so they can safely nest.
+     */
+    private static final ThreadLocal<WorkStack> WORK_STACKS =
+            new ThreadLocal<WorkStack>() {
+                @Override
+                protected WorkStack initialValue() {
+                    return new WorkStack();
+                }
+            };
+
     /** Whether this analysis should use road parts or normal parts. */
     private boolean isRoad;
 
@@ -131,61 +177,77 @@ public abstract class PartMeepleAnalysis extends MeepleAnalysis {
     }
 
     /**
-     * Runs the analysis. This consists solely of iterating through the parts
-     * in the starting section and calling partAnalysis() on them.
+     * Runs the analysis. This consists solely of pushing the parts in the starting
+     * section onto the work stack and calling partAnalysis() to walk them.
      */
     @Override
     protected void runAnalysis() {
-        for (int part : this.startSection.getParts()) {
-            partAnalysis(this.startTile.getX(), this.startTile.getY(), part);
+        WorkStack stack = WORK_STACKS.get();
+        int base = stack.size;
+
+        for (int parts = this.startSection.getPartMask(); parts != 0;
+                parts &= parts - 1) {
+            int part = Integer.numberOfTrailingZeros(parts);
+            stack.push(this.startTile.getX(), this.startTile.getY(), part);
         }
+
+        partAnalysis(stack, base);
     }
 
     /**
-     * This is the meat of the PartMeepleAnalysis class. It is a recursive method:
-     * starting from an initial part or road part number in some tile, it gets the
-     * section at that part. If the section has already been visited, it returns.
-     * Otherwise, it adds the section to the set of visited sections and then
-     * recursively calls itself on all parts connected to this section.
+     * This is the meat of the PartMeepleAnalysis class. It is a flood fill over an
+     * explicit stack of (x, y, part) entries rather than a recursive method, so long
+     * roads and large farms can't overflow the small thread stacks that players run
+     * on. For each entry popped off the stack, it gets the section at that part. If
+     * the section has already been visited, it moves on. Otherwise, it adds the
+     * section to the set of visited sections and then pushes all parts connected to
+     * this section.
      *
-     * @param x    The X position of the tile being looked at in this call.
-     * @param y    The Y position of the tile being looked at in this call.
-     * @param part The part or road part of the section being looked at in this call.
+     * @param stack The work stack containing the parts to start walking from.
+     * @param base  The size of the stack before this analysis pushed anything onto it.
+     *              Walking stops once the stack shrinks back to this size, leaving
+     *              anything below it alone.
      */
-    protected void partAnalysis(int x, int y, int part) {
-        Tile tile = this.board.getTile(x, y);
-        if (tile == null) {
-            // If we found a position with no tile, that means that the farm, road, or
-            // city is not closed off. Mark it as such and return.
-            this.isClosed = false;
-            return;
-        }
+    protected void partAnalysis(WorkStack stack, int base) {
+        while (stack.size > base) {
+            stack.size -= 3;
+            int x = stack.entries[stack.size];
+            int y = stack.entries[stack.size + 1];
+            int part = stack.entries[stack.size + 2];
 
-        // Get the section from the part we were provided.
-        Section section = this.isRoad ?
-                tile.getRoadSection(part) :
-                tile.getSection(part);
+            Tile tile = this.board.getTile(x, y);
+            if (tile == null) {
+                // If we found a position with no tile, that means that the farm, road,
+                // or city is not closed off. Mark it as such and move on.
+                this.isClosed = false;
+                continue;
+            }
 
-        // Don't count sections we've already searched through so that we don't run
-        // into infinite recursion.
-        if (this.visitedSections.contains(section)) {
-            return;
-        }
+            // Get the section from the part we were provided.
+            Section section = this.isRoad ?
+                    tile.getRoadSection(part) :
+                    tile.getSection(part);
+
+            // Don't count sections we've already searched through so that we don't
+            // loop forever. If the section is new, add it and its tile to the visited
+            // sets. If the tile has already been visited, but this is a different
+            // section, adding the tile to the set again will be a no-op.
+            if (!this.visitedSections.add(section)) {
+                continue;
+            }
+            this.visitedTiles.add(tile);
 
-        // Otherwise, add this section and tile to the visited sets. If the tile has
-        // already been visited, but this is a different section, adding the tile to
-        // the set again will be a no-op.
-        this.visitedSections.add(section);
-        this.visitedTiles.add(tile);
-
-        // Run this same function on all adjacent parts connected to this section.
-        for (int other_part : section.getParts()) {
-            if (this.isRoad) {
-                partAnalysis(x + Tile.roadPartXOffset(other_part),
-                        y + Tile.roadPartYOffset(other_part), Tile.flipRoadPart(other_part));
-            } else {
-                partAnalysis(x + Tile.partXOffset(other_part),
-                        y + Tile.partYOffset(other_part), Tile.flipPart(other_part));
+            // Walk all adjacent parts connected to this section.
+            for (int parts = section.getPartMask(); parts != 0; parts &= parts - 1) {
+                int otherPart = Integer.numberOfTrailingZeros(parts);
+                if (this.isRoad) {
+                    stack.push(x + Tile.roadPartXOffset(otherPart),
+                            y + Tile.roadPartYOffset(otherPart),
+                            Tile.flipRoadPart(otherPart));
+                } else {
+                    stack.push(x + Tile.partXOffset(otherPart),
+                            y + Tile.partYOffset(otherPart), Tile.flipPart(otherPart));
+                }
             }
         }
     }
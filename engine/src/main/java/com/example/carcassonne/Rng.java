@@ -0,0 +1,121 @@
+package com.example.carcassonne;
+
+import java.io.Serializable;
+
+/**
+ * A small, fast, seedable random number generator using the SplitMix64 algorithm. All
+ * randomness in a game, i.e. the order of the deck, the rotations of its tiles, and the
+ * choices of the AIs, comes from generators seeded from the game's seed, so a game can
+ * be replayed exactly, on any machine, from its seed and the players' actions.
+ *
+ * java.util.SplittableRandom uses the same algorithm, but is not available on every
+ * Android version we support, and java.util.Random can't have its state saved and
+ * restored, which undoing moves needs.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class Rng implements Serializable {
+    /** The amount the state advances by for each number, an odd constant. */
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** The current state of the generator. */
+    private long state;
+
+    /**
+     * Creates a seed that is different every time it is called, for games that don't
+     * need to be reproducible.
+     *
+     * @return A new seed.
+     */
+    public static long createSeed() {
+        return Zobrist.mix(System.nanoTime() ^ System.identityHashCode(new Object()));
+    }
+
+    /**
+     * Gets the current state of the generator, which can be restored with setState()
+     * to generate the same numbers again.
+     *
+     * @return The state of the generator.
+     */
+    public long getState() {
+        return this.state;
+    }
+
+    /**
+     * Restores the generator to a state gotten from getState().
+     *
+     * @param state The state to restore.
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * Generates the next random long, uniformly distributed over every long.
+     *
+     * @return The random long.
+     */
+    public long nextLong() {
+        this.state += GAMMA;
+        return Zobrist.mix(this.state);
+    }
+
+    /**
+     * Generates a random int in the range 0 to bound - 1.
+     *
+     * @param bound The number of possible results. Must be positive.
+     * @return The random int.
+     */
+    public int nextInt(int bound) {
+        assert bound > 0;
+
+        // Scale the top 32 bits into the range. The bias is at most bound / 2^32,
+        // which is negligible for the small ranges used in the game.
+        return (int)(((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Generates a random double in the range 0 (inclusive) to 1 (exclusive).
+     *
+     * @return The random double.
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Creates a new generator for a separate stream of numbers, identified by some
+     * number, without advancing this generator. Splitting the same generator in the
+     * same state with the same stream number always gives the same numbers, and
+     * different streams are independent of each other and of this generator.
+     *
+     * @param stream The number of the stream.
+     * @return The new generator.
+     */
+    public Rng split(long stream) {
+        return new Rng(Zobrist.mix(this.state ^ Zobrist.mix(stream * GAMMA + GAMMA)));
+    }
+
+    /**
+     * Creates a new generator with the specified seed.
+     *
+     * @param seed The seed to start from.
+     */
+    public Rng(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Creates a new generator that is a copy of another one, generating the same
+     * numbers from now on.
+     *
+     * @param other The generator to make a copy of.
+     */
+    public Rng(Rng other) {
+        this.state = other.state;
+    }
+}
@@ -1,18 +1,17 @@
 package com.example.carcassonne;
 
-import android.graphics.Point;
-
 import java.io.Serializable;
-import java.util.HashSet;
 
 /**
  * Represents a single section in a tile. It contains the color of the section (from
- * which the type can be derived from), the list of parts or road parts associated
+ * which the type is derived and cached), the bitmask of parts or road parts associated
  * with this section, and the X and Y position that a meeple should appear at when
  * placed in this section.
  *
- * When a Section is rotated, the data inside the section (namely the part numbers
- * and meeple position) are rotated with it.
+ * The part numbers and meeple position depend on the rotation of the tile, so they
+ * are not stored in the section. Instead, they are looked up by the section's index
+ * in the layout that the parent tile selected for its rotation, so rotating a tile
+ * never needs to modify its sections.
  *
  * Refer to Tile's documentation for a detailed synopsis on how sections work.
  *
@@ -30,22 +29,25 @@ public class Section implements Serializable {
     private int color;
 
     /**
-     * The set of all the parts in this section. For TYPE_FARM or TYPE_CITY, it contains
-     * normal parts; for TYPE_ROAD, it contains road parts; for TYPE_CLOISTER, it
-     * contains nothing since cloisters have no parts.
+     * The type of the section, which is one of the TYPE_* constants in Tile. It is
+     * derived from the color once when the section is created.
      */
-    private HashSet<Integer> parts;
+    private byte type;
 
     /**
-     * The X display position that meeples in this section should have. It will always
-     * be inside this section in the map image.
+     * The index of this section in the parent tile's TileDefinition, which is used to
+     * look up the parts and meeple position in the tile's current layout.
      */
-    private int meepleX;
+    private int index;
+
     /**
-     * The Y display position that meeples in this section should have. It will always
-     * be inside this section in the map image.
+     * The node of this section in the board's FeatureGraph, or NO_NODE if the parent
+     * tile has not been placed on the board yet.
      */
-    private int meepleY;
+    private int featureNode;
+
+    /** Indicates that a section has no node in the board's FeatureGraph. */
+    public static final int NO_NODE = -1;
 
     /**
      * Gets the parent tile that contains this section.
@@ -68,12 +70,21 @@ public class Section implements Serializable {
     /**
      * Gets the type of this section.
      *
+     * @return The type of this section, which is one of the TYPE_* constants in Tile.
+     */
+    public int getType() {
+        return this.type;
+    }
+
+    /**
      * Converts a color to a section type by looking it up in the Tile.<TYPE>_COLORS
      * sets.
      *
-     * @return The type of this section, which is one of the TYPE_* constants in Tile.
+     * @param color The color of the section.
+     * @return The type of a section with that color, which is one of the TYPE_*
+     *         constants in Tile.
      */
-    public int getType() {
+    public static int getColorType(int color) {
         if (Tile.FARM_COLORS.contains(color)) {
             return Tile.TYPE_FARM;
         } else if (Tile.CITY_COLORS.contains(color)) {
@@ -90,24 +101,45 @@ public class Section implements Serializable {
     }
 
     /**
-     * Gets the set of all parts in this section. It depends on the type of the section
-     * as to the contents; refer to the documentation of the "parts" instance variable
-     * for more information.
+     * Gets the index of this section in the parent tile's TileDefinition.
+     *
+     * @return The index of this section.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Gets the bitmask of all parts in this section, where bit N is set if part N is
+     * in the section. For TYPE_FARM or TYPE_CITY, it contains normal parts in the low
+     * eight bits; for TYPE_ROAD, it contains road parts in the low four bits; for
+     * TYPE_CLOISTER, it contains nothing since cloisters have no parts. The parts can
+     * be iterated in increasing order with Integer.numberOfTrailingZeros(), clearing
+     * the lowest bit each time.
+     *
+     * @return The bitmask of all parts in this section.
+     */
+    public int getPartMask() {
+        return this.parent.getLayout().getSectionParts(this.index);
+    }
+
+    /**
+     * Queries whether a part or road part is in this section.
      *
-     * @return The set of all parts in this section.
+     * @param part The part to check for.
+     * @return True if the part is in this section, false otherwise.
      */
-    public HashSet<Integer> getParts() {
-        return this.parts;
+    public boolean hasPart(int part) {
+        return (getPartMask() & (1 << part)) != 0;
     }
 
     /**
-     * Adds a part number to this tile. It should only be called by
-     * Tile.parseSectionParts().
+     * Queries the number of parts in this section.
      *
-     * @param part The part number to add to the set of parts.
+     * @return The number of parts.
      */
-    public void addPart(int part) {
-        this.parts.add(part);
+    public int getNumParts() {
+        return Integer.bitCount(getPartMask());
     }
 
     /**
@@ -117,7 +149,7 @@ public class Section implements Serializable {
      * @return The X display position for meeples in this section.
      */
     public int getMeepleX() {
-        return this.meepleX;
+        return this.parent.getLayout().getSectionMeepleX(this.index);
     }
 
     /**
@@ -127,7 +159,7 @@ public class Section implements Serializable {
      * @return The Y display position for meeples in this section.
      */
     public int getMeepleY() {
-        return this.meepleY;
+        return this.parent.getLayout().getSectionMeepleY(this.index);
     }
 
     /**
@@ -153,39 +185,24 @@ public class Section implements Serializable {
         return this.getParent().getOwner();
     }
 
-    /** Rotates this section 90 degrees clockwise. */
-    public void rotate() {
-        int type = getType();
-
-        // Rotate the meeple positions.
-        Point rotatedPoint = Tile.rotatePointCW(meepleX, meepleY, 90);
-        this.meepleX = rotatedPoint.x;
-        this.meepleY = rotatedPoint.y;
-
-        // Figure out how much each part needs to be rotated.
-        int add, mod;
-        if (type == Tile.TYPE_ROAD) {
-            // There are four roads, and each side has only one road.
-            add = 1;
-            mod = 4;
-        } else if (type == Tile.TYPE_FARM || type == Tile.TYPE_CITY) {
-            // There are eight farms/cities, and each side has two roads.
-            add = 2;
-            mod = 8;
-        } else {
-            // Cloister section parts don't need rotating.
-            return;
-        }
+    /**
+     * Gets the node of this section in the board's FeatureGraph.
+     *
+     * @return The node of this section, or NO_NODE if the parent tile is not on the
+     *         board yet.
+     */
+    public int getFeatureNode() {
+        return this.featureNode;
+    }
 
-        // Rotate each part in the set of parts.
-        HashSet<Integer> rotatedSet = new HashSet<>();
-        for (int part : this.parts) {
-            // Increasing the parts rotates them clockwise on the tile. The modulus
-            // ensures that increasing it past the highest part number wraps it back
-            // around to zero again.
-            rotatedSet.add((part + add) % mod);
-        }
-        this.parts = rotatedSet;
+    /**
+     * Sets the node of this section in the board's FeatureGraph. This method should
+     * only be called by FeatureGraph.
+     *
+     * @param featureNode The new node of this section.
+     */
+    public void setFeatureNode(int featureNode) {
+        this.featureNode = featureNode;
     }
 
     /**
@@ -201,31 +218,33 @@ public class Section implements Serializable {
         // add it's address instead.
         toStr.add("parent", this.parent.hashCode());
 
-        toStr.add("parts", this.parts);
+        toStr.add("index", this.index);
+        toStr.add("parts", Integer.toBinaryString(getPartMask()));
         toStr.add("color", this.color);
-        toStr.add("meepleX", this.meepleX);
-        toStr.add("meepleY", this.meepleY);
+        toStr.add("type", this.type);
+        toStr.add("meepleX", getMeepleX());
+        toStr.add("meepleY", getMeepleY());
+        toStr.add("featureNode", this.featureNode);
 
         return toStr.toString();
     }
 
     /**
-     * Creates a new section with the specified color and meeple X and Y display
-     * position.
+     * Creates a new section for the section at the specified index in the parent
+     * tile's definition.
      *
-     * @param parent  The parent tile that contains this section.
-     * @param color   The color of the section.
-     * @param meepleX The X display position of meeples in this section.
-     * @param meepleY The Y display position of meeples in this section.
+     * @param parent The parent tile that contains this section.
+     * @param index  The index of the section in the parent tile's definition.
+     * @param color  The color of the section.
      */
-    public Section(Tile parent, int color, int meepleX, int meepleY) {
+    public Section(Tile parent, int index, int color) {
         this.parent = parent;
         this.color = color;
+        this.type = (byte)getColorType(color);
 
-        this.parts = new HashSet<>();
+        this.index = index;
 
-        this.meepleX = meepleX;
-        this.meepleY = meepleY;
+        this.featureNode = NO_NODE;
     }
 
     /**
@@ -239,10 +258,10 @@ public class Section implements Serializable {
     public Section(Section other, Tile parent) {
         this.parent = parent;
         this.color = other.color;
+        this.type = other.type;
 
-        this.parts = new HashSet<>(other.parts);
+        this.index = other.index;
 
-        this.meepleX = other.meepleX;
-        this.meepleY = other.meepleY;
+        this.featureNode = other.featureNode;
     }
 }
@@ -1,12 +1,9 @@
 package com.example.carcassonne;
 
-import android.graphics.Bitmap;
-import android.graphics.Point;
-
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 
 /**
@@ -112,18 +109,21 @@ import java.util.HashSet;
  * files contain is a "special" pixel in the very corners of the image. If it is black,
  * the tile is normal. If red, it means that the city in the tile has a pennant.
  *
- * Since the colors are already in use in the image files, they are also used in the
- * code. The sections in the tile are stored in a hash map of colors to Sections.
- * The section which a meeple is in is stored as a color. That way, when a meeple is
- * placed, the color can just be looked up in the map and the section is returned.
- * There is also a special pure white constant, NO_MEEPLE, which indicates that no
- * meeple has been placed on this tile.
+ * Section images are compiled into a tile specification at build time and loaded once
+ * per process into a shared TileDefinition for each tile ID, which every tile with that
+ * ID then creates its sections from.
+ *
+ * The sections in the tile are stored in an array indexed by their index in the
+ * definition, and the section which a meeple is in is stored as that index, with the
+ * special constant NO_MEEPLE indicating that no meeple has been placed on this tile.
+ * That way, finding the meeple never has to box or look anything up. Colors are only
+ * used to find the section that the player tapped on in the tile's map image.
  *
  * Finally, tiles also contain an "owner", which is the player index of the player
  * who placed the tile (and therefore owns the meeple). Tiles also keep track of
  * their ID (for looking up map images in BitmapProvider) their rotation in degrees
- * (for rendering), and their X and Y position on the board (for scoring; kept
- * updated automatically by Board).
+ * (for rendering), and their X and Y position on the board (for scoring; set by
+ * Board when the tile is placed).
  *
  * @author Sophie Arcangel
  * @author DJ Backus
@@ -138,12 +138,28 @@ public class Tile implements Serializable {
     /** The ID of the tile, which is from A-X. */
     char id;
 
-    /** The map of all section colors to Sections that this tile contains. */
-    private HashMap<Integer, Section> sections;
+    /**
+     * The shared definition of this tile's sections and pennant, looked up from the
+     * ID. It is not serialized since it can always be looked up from the ID again.
+     */
+    private transient TileDefinition definition;
+
+    /**
+     * The layout of this tile's sections at its current rotation, selected from the
+     * definition. It is not serialized since it can be looked up from the definition
+     * and rotation again.
+     */
+    private transient TileDefinition.Layout layout;
 
     /**
-     * If there is a meeple on this tile, contains the color of the section that
-     * the meeple is in. Otherwise, this contains NO_MEEPLE.
+     * The sections of this tile indexed by their index in the definition, which is
+     * what the layout's part to section tables refer to.
+     */
+    private Section[] indexedSections;
+
+    /**
+     * If there is a meeple on this tile, contains the index of the section that the
+     * meeple is in. Otherwise, this contains NO_MEEPLE.
      */
     private int meepleSection;
 
@@ -154,9 +170,6 @@ public class Tile implements Serializable {
      */
     private int owner;
 
-    /** Indicates whether this tile has a pennant on it. */
-    private boolean hasPennant;
-
     /**
      * The rotation of the tile, clockwise, in degrees. It will always be a multiple
      * of 90 in the range 0-270.
@@ -164,17 +177,23 @@ public class Tile implements Serializable {
     private int rotation;
 
     /**
-     * The X position of this tile on the board, or -1 if it is not on the board. It
-     * may change when the board is resized.
+     * The X position of this tile on the board, or NO_POSITION if it is not on the
+     * board. Positions may be negative.
      */
     private int x;
 
     /**
-     * The Y position of this tile on the board, or -1 if it is not on the board. It
-     * may change when the board is resized.
+     * The Y position of this tile on the board, or NO_POSITION if it is not on the
+     * board. Positions may be negative.
      */
     private int y;
 
+    /**
+     * The X and Y position of a tile that is not on the board. Since board positions
+     * may be negative, this is a value that no real position can ever reach.
+     */
+    public static final int NO_POSITION = Integer.MIN_VALUE;
+
     /** Indicates that a section or section color is a farm. */
     public static final int TYPE_FARM = 1;
     /** Indicates that a section or section color is a city. */
@@ -190,23 +209,8 @@ public class Tile implements Serializable {
      */
     public static final int NO_TYPE = 0;
 
-    /**
-     * A color constant (pure white) that indicates that there is no meeple on this tile.
-     * It is also used in section images to indicate that the pixel is not a position
-     * where meeples should appear when in some section, i.e. the general filler color.
-     */
-    private static final int NO_MEEPLE = 0xFFFFFFFF;
-
-    /**
-     * A color constant (total black) that indicates that there is no section here in a
-     * section image. It is only relevant for roads since farms and cities require a
-     * section at every part. It is also used to indicate that the tile has no special
-     * value.
-     */
-    private static final int NO_SECTION_COLOR = 0xFF000000;
-
-    /** The special color used to indicate that the tile has a pennant. */
-    private static final int PENNANT_COLOR = 0xFFFF0000;
+    /** A section index that indicates that there is no meeple on this tile. */
+    private static final int NO_MEEPLE = -1;
 
     /*
      * External Citation
@@ -359,41 +363,6 @@ public class Tile implements Serializable {
         return 0;
     }
 
-    /**
-     * Rotates an X and Y point some multiple of 90 degrees clockwise. This is used
-     * to rotate meeple positions in Section when the tile rotates.
-     *
-     * @param x  The X position to rotate some multiple of 90 degrees.
-     * @param y  The Y position to rotate some multiple of 90 degrees.
-     * @param by The amount to rotate by. Must be a multiple of 90 in the range 0-270.
-     * @return A Point containing the rotated X and Y.
-     */
-    public static Point rotatePointCW(int x, int y, int by) {
-        Point point = new Point(x, y);
-
-        for (int i = 0; i < by; i += 90) {
-            int temp = point.x;
-            point.x = SIZE - point.y;
-            point.y = temp;
-        }
-
-        return point;
-    }
-
-    /**
-     * Rotates an X and Y point some multiple of 90 degrees counterclockwise. This is
-     * used to rotate a position backwards from an already rotated tile to look up a
-     * position on a tile map since tile maps are never rotated.
-     *
-     * @param x  The X position to rotate some multiple of 90 degrees.
-     * @param y  The Y position to rotate some multiple of 90 degrees.
-     * @param by The amount to rotate by. Must be a multiple of 90 in the range 0-270.
-     * @return A Point containing the rotated X and Y.
-     */
-    public static Point rotatePointCCW(int x, int y, int by) {
-        return rotatePointCW(x, y, 360 - by);
-    }
-
     /**
      * Queries the ID of the tile.
      *
@@ -404,12 +373,13 @@ public class Tile implements Serializable {
     }
 
     /**
-     * Gets a collection of all the sections in this tile.
+     * Gets all the sections in this tile, in the order of their index in the
+     * definition.
      *
-     * @return All the sections in this tile.
+     * @return All the sections in this tile. The array must not be modified.
      */
-    public Collection<Section> getSections() {
-        return this.sections.values();
+    public Section[] getSections() {
+        return this.indexedSections;
     }
 
     /**
@@ -419,16 +389,12 @@ public class Tile implements Serializable {
      * @return The section that contains that part. It will never be null.
      */
     public Section getSection(int part) {
-        for (Section section : this.sections.values()) {
-            if ((section.getType() == TYPE_FARM || section.getType() == TYPE_CITY) &&
-                    section.getParts().contains(part)) {
-                return section;
-            }
-        }
+        Section section = this.indexedSections[this.layout.getPartSection(part)];
 
         // There should always be a section for each part
-        assert false;
-        return null;
+        assert section.hasPart(part) &&
+                (section.getType() == TYPE_FARM || section.getType() == TYPE_CITY);
+        return section;
     }
 
     /**
@@ -439,12 +405,18 @@ public class Tile implements Serializable {
      *         in that direction.
      */
     public Section getRoadSection(int part) {
-        for (Section section : this.sections.values()) {
-            if (section.getType() == TYPE_ROAD && section.getParts().contains(part)) {
-                return section;
-            }
-        }
-        return null;
+        int index = this.layout.getRoadPartSection(part);
+        return (index < 0) ? null : this.indexedSections[index];
+    }
+
+    /**
+     * Gets a section from its index in the tile's definition.
+     *
+     * @param index The index of the section, as returned by Section.getIndex().
+     * @return The section with that index.
+     */
+    public Section getSectionFromIndex(int index) {
+        return this.indexedSections[index];
     }
 
     /**
@@ -458,16 +430,20 @@ public class Tile implements Serializable {
     }
 
     /**
-     * Gets a section from an X and Y pixel position on the tile.
+     * Gets a section from its color. This is used to look up the section that a
+     * meeple is placed in from the color at a position in the tile's map image.
      *
-     * @param x The X position to get a section from, in pixels.
-     * @param y The Y position to get a section from, in pixels.
+     * @param color The color of the section to get.
+     * @return The section with that color, or null if there is no such section.
      */
-    public Section getSectionFromPosition(int x, int y) {
-        BitmapProvider bitmapProvider = BitmapProvider.getInstance();
-
-        int color = bitmapProvider.getTile(this.id).map.bitmap.getPixel(x, y);
-        return this.sections.get(color);
+    public Section getSectionFromColor(int color) {
+        // Tiles only have a handful of sections, so a scan is fast enough for taps.
+        for (Section section : this.indexedSections) {
+            if (section.getColor() == color) {
+                return section;
+            }
+        }
+        return null;
     }
 
     /**
@@ -485,7 +461,8 @@ public class Tile implements Serializable {
      * @return The section that the meeple is in, or null if no meeple.
      */
     public Section getMeepleSection() {
-        return this.sections.get(this.meepleSection);
+        return (this.meepleSection == NO_MEEPLE) ?
+                null : this.indexedSections[this.meepleSection];
     }
 
     /**
@@ -498,7 +475,7 @@ public class Tile implements Serializable {
         if (section == null) {
             this.meepleSection = NO_MEEPLE;
         } else {
-            this.meepleSection = section.getColor();
+            this.meepleSection = section.getIndex();
         }
     }
 
@@ -550,7 +527,7 @@ public class Tile implements Serializable {
      * @return True if there is a pennant, false otherwise.
      */
     public boolean hasPennant() {
-        return this.hasPennant;
+        return this.definition.hasPennant();
     }
 
     /**
@@ -564,47 +541,85 @@ public class Tile implements Serializable {
     }
 
     /**
-     * Set the rotation of this tile in degrees.
+     * Set the rotation of this tile in degrees. The sections are not modified; the
+     * tile just selects the precomputed layout for the new rotation.
      *
      * @param rotation The new rotation of the tile. It must be a multiple of 90 in
-     *                 the range 0-270 or an infinite loop will be triggered.
+     *                 the range 0-270.
      */
     public void setRotation(int rotation) {
-        while (this.rotation != rotation) {
-            rotate();
-        }
+        assert rotation % 90 == 0 && rotation >= 0 && rotation < 360;
+
+        this.rotation = rotation;
+        this.layout = this.definition.getLayout(rotation / 90);
     }
 
     /** Rotates the tile 90 degrees clockwise. */
     public void rotate() {
         // By using modulus, this ensures the rotation is always in the range 0-270.
-        this.rotation = (this.rotation + 90) % 360;
+        setRotation((this.rotation + 90) % 360);
+    }
 
-        for (Section section : this.sections.values()) {
-            section.rotate();
-        }
+    /**
+     * Finds every rotation of this tile that fits a constraint. See TileDefinition for
+     * more information on constraints.
+     *
+     * @param constraint The constraint of the position, as in Board.getConstraint().
+     * @return The bitmask of fitting rotations, where bit N is set if N clockwise
+     *         quarter turns fit.
+     */
+    public int getFittingRotations(int constraint) {
+        return this.definition.getFittingRotations(constraint);
     }
 
     /**
-     * Queries the X position of this tile on the board. It may change when the board
-     * is resized.
+     * Gets the layout of this tile's sections at some rotation without rotating the
+     * tile.
      *
-     * @return The X position of the tile, or -1 if it is not on the board yet.
+     * @param rotation The rotation in degrees, a multiple of 90 in the range 0-270.
+     * @return The layout at that rotation.
+     */
+    public TileDefinition.Layout getLayout(int rotation) {
+        return this.definition.getLayout(rotation / 90);
+    }
+
+    /**
+     * Gets the layout of this tile's sections at its current rotation. This method
+     * should generally only be needed by Section.
+     *
+     * @return The current layout.
+     */
+    public TileDefinition.Layout getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * Queries the X position of this tile on the board.
+     *
+     * @return The X position of the tile, or NO_POSITION if it is not on the board yet.
      */
     public int getX() {
         return this.x;
     }
 
     /**
-     * Queries the Y position of this tile on the board. It may change when the board
-     * is resized.
+     * Queries the Y position of this tile on the board.
      *
-     * @return The Y position of the tile, or -1 if it is not on the board yet.
+     * @return The Y position of the tile, or NO_POSITION if it is not on the board yet.
      */
     public int getY() {
         return this.y;
     }
 
+    /**
+     * Queries whether this tile has been given a position on the board yet.
+     *
+     * @return True if the tile has a position, false otherwise.
+     */
+    public boolean hasPosition() {
+        return this.x != NO_POSITION;
+    }
+
     /**
      * Sets the X and Y coordinates of this tile on the board. This method should
      * only be called by Board.
@@ -627,10 +642,10 @@ public class Tile implements Serializable {
         ToStringer toStr = new ToStringer("Tile");
 
         toStr.add("id", this.id);
-        toStr.add("sections", this.sections);
+        toStr.add("sections", this.indexedSections);
         toStr.add("meepleSection", this.meepleSection);
         toStr.add("meepleOwner", this.owner);
-        toStr.add("hasPennant", this.hasPennant);
+        toStr.add("hasPennant", hasPennant());
         toStr.add("rotation", this.rotation);
         toStr.add("x", this.x);
         toStr.add("y", this.y);
@@ -639,32 +654,32 @@ public class Tile implements Serializable {
     }
 
     /**
-     * Creates a new tile from the specified ID. The tile will load its sections from the
-     * section image. It will have no owner, no meeple, and a rotation of zero.
+     * Creates a new tile from the specified ID. The tile will create its sections from
+     * the shared TileDefinition for that ID. It will have no owner, no meeple, and a
+     * rotation of zero.
      *
      * @param id The ID of the tile to create.
      */
     public Tile(char id) {
         this.id = id;
+        this.definition = TileDefinition.get(id);
 
         // Fill out everything to the default/empty state
-        this.sections = new HashMap<>();
+        this.indexedSections = new Section[this.definition.getNumSections()];
 
         this.meepleSection = NO_MEEPLE;
         this.owner = -1;
-        this.hasPennant = false;
 
         this.rotation = 0;
-        this.x = -1;
-        this.y = -1;
-
-        BitmapProvider bitmapProvider = BitmapProvider.getInstance();
-        Bitmap sectionBitmap = bitmapProvider.getTile(id).section.bitmap;
-
-        // Run all the parsers on the section bitmap to load all the necessary information.
-        parseSectionPositions(sectionBitmap);
-        parseSectionParts(sectionBitmap);
-        parseSectionSpecials(sectionBitmap);
+        this.layout = this.definition.getLayout(0);
+        this.x = NO_POSITION;
+        this.y = NO_POSITION;
+
+        // Create a section for each section in the definition.
+        for (int i = 0; i < this.definition.getNumSections(); i++) {
+            this.indexedSections[i] =
+                    new Section(this, i, this.definition.getSectionColor(i));
+        }
     }
 
     /**
@@ -675,159 +690,35 @@ public class Tile implements Serializable {
      */
     public Tile(Tile other) {
         this.id = other.id;
+        this.definition = other.definition;
 
         // Make a deep copy, explicitly providing this deep copy as the new parent of
         // each deep copied section.
-        this.sections = Util.deepCopyMap(other.sections, HashMap::new,
-                (section) -> new Section(section, this));
+        this.indexedSections = new Section[other.indexedSections.length];
+        for (int i = 0; i < this.indexedSections.length; i++) {
+            this.indexedSections[i] = new Section(other.indexedSections[i], this);
+        }
 
         this.meepleSection = other.meepleSection;
         this.owner = other.owner;
-        this.hasPennant = other.hasPennant;
 
         this.rotation = other.rotation;
+        this.layout = other.layout;
         this.x = other.x;
         this.y = other.y;
     }
 
     /**
-     * Creates the list of sections that this tile has by searching through the provided
-     * section bitmap to find the meeple position for each section and creating a new
-     * section with that color and meeple position. The sections will have no parts.
-     *
-     * Sections are created in this method rather than elsewhere because meeple positions
-     * are the only places in the section bitmap that indicate whether there is a cloister
-     * or not.
-     *
-     * @param sectionBitmap The section image for this tile.
-     */
-    private void parseSectionPositions(Bitmap sectionBitmap) {
-        // Iterate over every position in the tile except the one pixel borders, which
-        // contain section part information, not meeple positions.
-        for (int y = 1; y < SIZE - 1; y++) {
-            for (int x = 1; x < SIZE - 1; x++) {
-                int color = sectionBitmap.getPixel(x, y);
-                if (color == NO_MEEPLE) {
-                    // Do nothing if the pixel is the filler white color.
-                    continue;
-                }
-
-                // There should be no duplicate sections with the same color.
-                assert !this.sections.containsKey(color);
-
-                this.sections.put(color, new Section(this, color, x, y));
-            }
-        }
-    }
-
-    /**
-     * Represents a single section connection position in the edges of a section
-     * bitmap. These are collected into the PART_POSITIONS array for section
-     * connection parsing.
-     */
-    private static class SectionConn {
-        /** Whether this connection is a road or farm/city. */
-        public boolean isRoad;
-
-        /** The part number of this section. */
-        public int part;
-
-        /** The X lookup position on the section image of this section. */
-        public int x;
-        /** The Y lookup position on the section image of this section. */
-        public int y;
-
-        /**
-         * Constructor; just fills in the data values of the same name.
-         *
-         * @param isRoad Whether this connection is a road or farm/city.
-         * @param part   The part number of this section.
-         * @param x      The X position on the section image.
-         * @param y      The Y position on the section image.
-         */
-        public SectionConn(boolean isRoad, int part, int x, int y) {
-            this.isRoad = isRoad;
-            this.part = part;
-            this.x = x;
-            this.y = y;
-        }
-    }
-
-    /**
-     * Array of all the positions that need to be looked up on the sections array
-     * to be able to fill out the parts that each section has. Cloister sections can
-     * be ignored since they have no parts.
+     * Reads a serialized tile, looking up the definition again from the ID and the
+     * layout from the rotation since they are not serialized with the tile.
      *
-     * Normal parts are found by looking at the 1/4 and 3/4 positions on the edges.
-     * Road parts are found by looking at the 1/2 positions. The actual section images
-     * have larger areas of color to make it easier for the human eye even though the
-     * code ignores most of them.
+     * @param in The stream to read the tile from.
+     * @throws IOException            If the stream could not be read.
+     * @throws ClassNotFoundException If a serialized class could not be found.
      */
-    private static final SectionConn[] PART_POSITIONS = {
-            // Farm/city parts
-            new SectionConn(false, 0, SIZE / 4,     0),
-            new SectionConn(false, 1, SIZE * 3 / 4, 0),
-            new SectionConn(false, 2, SIZE - 1,     SIZE / 4),
-            new SectionConn(false, 3, SIZE - 1,     SIZE * 3 / 4),
-            new SectionConn(false, 4, SIZE * 3 / 4, SIZE - 1),
-            new SectionConn(false, 5, SIZE / 4,     SIZE - 1),
-            new SectionConn(false, 6, 0,            SIZE * 3 / 4),
-            new SectionConn(false, 7, 0,            SIZE / 4),
-
-            // Road parts
-            new SectionConn(true, 0, SIZE / 2, 0),
-            new SectionConn(true, 1, SIZE - 1, SIZE / 2),
-            new SectionConn(true, 2, SIZE / 2, SIZE - 1),
-            new SectionConn(true, 3, 0,         SIZE / 2),
-    };
-
-    /**
-     * Parses all the part (both normal and road) numbers from the section image and
-     * places them in the proper tile and image.
-     *
-     * @param sectionBitmap The section image for this tile.
-     */
-    private void parseSectionParts(Bitmap sectionBitmap) {
-        // Iterate over all the positions that we need to look at.
-        for (SectionConn sectionConn : PART_POSITIONS) {
-            int color = sectionBitmap.getPixel(sectionConn.x, sectionConn.y);
-
-            if (color == NO_SECTION_COLOR) {
-                // Only roads may not have a section; everything else must have one.
-                assert sectionConn.isRoad;
-                continue;
-            }
-
-            // Ensure we have the proper colors for the proper section type.
-            if (sectionConn.isRoad) {
-                assert ROAD_COLORS.contains(color);
-            } else {
-                assert FARM_COLORS.contains(color) || CITY_COLORS.contains(color);
-            }
-
-            Section section = this.sections.get(color);
-
-            // There must be a section for this color; otherwise, the sectionBitmap
-            // is incorrect and is missing a meeple position.
-            assert section != null;
-
-            section.addPart(sectionConn.part);
-        }
-    }
-
-    /**
-     * Parses section special information from the section image by looking at the
-     * top left corner color. Currently, it only looks for pennants.
-     *
-     * @param sectionBitmap The section image for this tile.
-     */
-    private void parseSectionSpecials(Bitmap sectionBitmap) {
-        int specialColor = sectionBitmap.getPixel(0, 0);
-        if (specialColor == PENNANT_COLOR) {
-            this.hasPennant = true;
-        } else {
-            // It must be black if there is no special.
-            assert specialColor == NO_SECTION_COLOR;
-        }
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.definition = TileDefinition.get(this.id);
+        this.layout = this.definition.getLayout(this.rotation / 90);
     }
 }
@@ -0,0 +1,487 @@
+package com.example.carcassonne;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Holds the immutable information shared by every tile with the same ID, namely the
+ * colors, parts, and meeple positions of each section and whether the tile has a
+ * pennant. Refer to Tile's documentation for what each of these mean. The parts and
+ * meeple positions are precomputed for each of the four rotations as a Layout.
+ *
+ * Each side of each layout also has an edge signature, which packs the types of the
+ * two parts on that side and whether there is a road into EDGE_BITS bits. Two tiles
+ * fit together on a side if the edge of one is the flipped edge of the other. An
+ * empty position on the board is described by a constraint, which packs the edge
+ * signature required on each of its four sides, or zero for sides with no adjacent
+ * tile. Every definition has a table from required edges to the rotations that have
+ * them, so getFittingRotations() finds every rotation of a tile that fits a position
+ * with at most four lookups. Likewise, a table shared by all definitions maps required
+ * edges to the tiles that have them, so getFittingTiles() finds every tile ID that
+ * fits a position with at most sixteen lookups.
+ *
+ * Section images are not parsed at runtime. Instead, the compileTileSpecs build task
+ * compiles them into a compact binary tile specification resource (see
+ * CompileTileSpecsTask in buildSrc for the format), which is loaded into a registry
+ * in one sequential read the first time any definition is requested. Every Tile then
+ * refers to its definition rather than parsing or copying the section information
+ * itself. Definitions are never modified once created, so they may be freely shared
+ * between tiles, game states, and threads.
+ *
+ * Sections in a definition are identified by their index, which is the order in
+ * which they were found in the section image. This order is the same for every tile
+ * with the same ID.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public final class TileDefinition {
+    /**
+     * The registry of every tile definition, mapping tile IDs to their definitions. It
+     * is empty until the tile specification is loaded. Access to it must be synchronized
+     * since tiles may be created from any thread.
+     */
+    private static final HashMap<Character, TileDefinition> definitions = new HashMap<>();
+
+    /**
+     * Gets the definition for the tile with the specified ID, loading the tile
+     * specification if this is the first time any definition has been requested.
+     *
+     * @param id The ID of the tile to get the definition of, from A-X.
+     * @return The shared definition for that tile ID.
+     */
+    public static TileDefinition get(char id) {
+        synchronized (definitions) {
+            if (definitions.isEmpty()) {
+                loadAll();
+            }
+
+            TileDefinition definition = definitions.get(id);
+
+            // Every tile ID must be present in the tile specification.
+            assert definition != null;
+            return definition;
+        }
+    }
+
+    /** The resource path of the tile specification, relative to this class. */
+    private static final String SPEC_RESOURCE = "tiles.bin";
+
+    /** The magic number at the start of the tile specification ("TILE"). */
+    private static final int MAGIC = 0x54494C45;
+    /** The version of the tile specification format that can be read. */
+    private static final int VERSION = 1;
+
+    /** The tile flag in the tile specification indicating a pennant. */
+    private static final int FLAG_PENNANT = 1;
+
+    /** The ID of the tile, which is from A-X. */
+    private final char id;
+
+    /** The color of each section, indexed by section index. */
+    private final int[] sectionColors;
+
+    /** The layout of the tile at each rotation, indexed by quarter turns clockwise. */
+    private final Layout[] layouts;
+
+    /** The number of bits in an edge signature. */
+    public static final int EDGE_BITS = 5;
+    /** The mask of the bits in an edge signature. */
+    private static final int EDGE_MASK = (1 << EDGE_BITS) - 1;
+
+    /**
+     * The bitmask of rotations, in quarter turns, whose edge on some side is some
+     * edge signature, indexed by side * 2^EDGE_BITS + edge.
+     */
+    private final byte[] edgeRotations;
+
+    /** Indicates whether tiles with this ID have a pennant on them. */
+    private final boolean hasPennant;
+
+    /**
+     * Queries the ID of the tile this definition is for.
+     *
+     * @return The ID of the tile, which is in the range A-X.
+     */
+    public char getId() {
+        return this.id;
+    }
+
+    /**
+     * Queries the number of sections tiles with this ID have.
+     *
+     * @return The number of sections.
+     */
+    public int getNumSections() {
+        return this.sectionColors.length;
+    }
+
+    /**
+     * Gets the color of the section at the specified index.
+     *
+     * @param index The index of the section.
+     * @return The color of that section.
+     */
+    public int getSectionColor(int index) {
+        return this.sectionColors[index];
+    }
+
+    /**
+     * Gets the layout of tiles with this ID at some rotation.
+     *
+     * @param quarterTurns The number of clockwise quarter turns, from 0-3.
+     * @return The layout at that rotation.
+     */
+    public Layout getLayout(int quarterTurns) {
+        return this.layouts[quarterTurns];
+    }
+
+    /**
+     * Finds every rotation of tiles with this ID that fits a constraint, i.e. that has
+     * the required edge on each side of the constraint.
+     *
+     * @param constraint The constraint of the position, as in Board.getConstraint().
+     * @return The bitmask of fitting rotations, where bit N is set if N clockwise
+     *         quarter turns fit.
+     */
+    public int getFittingRotations(int constraint) {
+        int rotations = 0xF;
+
+        for (int side = 0; side < 4 && constraint != 0; side++) {
+            int edge = constraint & EDGE_MASK;
+            if (edge != 0) {
+                rotations &= this.edgeRotations[(side << EDGE_BITS) + edge];
+            }
+            constraint >>>= EDGE_BITS;
+        }
+
+        return rotations;
+    }
+
+    /**
+     * Finds every tile ID that fits a constraint in at least one rotation.
+     *
+     * @param constraint The constraint of the position, as in Board.getConstraint().
+     * @return The bitmask of fitting tile IDs, where bit N is set if tile 'A' + N
+     *         fits.
+     */
+    public static int getFittingTiles(int constraint) {
+        int tiles = 0;
+        for (int turns = 0; turns < 4; turns++) {
+            tiles |= getFittingTiles(constraint, turns);
+        }
+        return tiles;
+    }
+
+    /**
+     * Finds every tile ID that fits a constraint at a specific rotation.
+     *
+     * @param constraint   The constraint of the position, as in Board.getConstraint().
+     * @param quarterTurns The number of clockwise quarter turns, from 0-3.
+     * @return The bitmask of fitting tile IDs, where bit N is set if tile 'A' + N
+     *         fits at that rotation.
+     */
+    public static int getFittingTiles(int constraint, int quarterTurns) {
+        int tiles = (1 << Deck.NUM_IDS) - 1;
+
+        for (int side = 0; side < 4 && constraint != 0; side++) {
+            int edge = constraint & EDGE_MASK;
+            if (edge != 0) {
+                tiles &= FittingTiles.TABLE[(((side << EDGE_BITS) + edge) << 2) +
+                        quarterTurns];
+            }
+            constraint >>>= EDGE_BITS;
+        }
+
+        return tiles;
+    }
+
+    /**
+     * Flips an edge signature to get the edge that a tile must have on the opposite
+     * side to fit against it. Parts are numbered clockwise, so the first part on one
+     * side touches the second part on the other.
+     *
+     * @param edge The edge signature to flip.
+     * @return The flipped edge signature.
+     */
+    public static int flipEdge(int edge) {
+        return ((edge >>> 2) & 0x3) | ((edge & 0x3) << 2) | (edge & 0x10);
+    }
+
+    /**
+     * Queries whether tiles with this ID have a pennant on them.
+     *
+     * @return True if there is a pennant, false otherwise.
+     */
+    public boolean hasPennant() {
+        return this.hasPennant;
+    }
+
+    /**
+     * Reads a single tile definition from its entry in the tile specification. Only
+     * TileDefinition.loadAll() should create definitions.
+     *
+     * @param in The stream positioned at the start of the tile's entry.
+     * @throws IOException If the entry could not be read.
+     */
+    private TileDefinition(DataInputStream in) throws IOException {
+        this.id = (char)in.readUnsignedByte();
+        this.hasPennant = (in.readUnsignedByte() & FLAG_PENNANT) != 0;
+
+        int numSections = in.readUnsignedByte();
+        this.sectionColors = new int[numSections];
+        int[] sectionParts = new int[numSections];
+        int[] sectionMeepleX = new int[numSections];
+        int[] sectionMeepleY = new int[numSections];
+
+        for (int i = 0; i < numSections; i++) {
+            this.sectionColors[i] = in.readInt();
+            sectionMeepleX[i] = in.readShort();
+            sectionMeepleY[i] = in.readShort();
+            sectionParts[i] = in.readUnsignedByte();
+        }
+
+        // Each layout is the previous one rotated a quarter turn clockwise.
+        this.layouts = new Layout[4];
+        this.layouts[0] = new Layout(this.sectionColors, sectionParts,
+                sectionMeepleX, sectionMeepleY);
+        for (int i = 1; i < 4; i++) {
+            this.layouts[i] = this.layouts[i - 1].rotate(this.sectionColors);
+        }
+
+        this.edgeRotations = new byte[4 << EDGE_BITS];
+        for (int rotation = 0; rotation < 4; rotation++) {
+            for (int side = 0; side < 4; side++) {
+                int edge = this.layouts[rotation].getEdge(side);
+                this.edgeRotations[(side << EDGE_BITS) + edge] |= 1 << rotation;
+            }
+        }
+    }
+
+    /**
+     * The immutable layout of a tile at a single rotation: the parts and meeple
+     * display position of each section, and tables from each part and road part to
+     * the section containing it. Tiles select a layout by their rotation, so rotating
+     * a tile never needs to touch its sections.
+     */
+    public static final class Layout {
+        /**
+         * The bitmask of parts of each section, indexed by section index. See Section
+         * for which kind of parts each section type has.
+         */
+        private final int[] sectionParts;
+
+        /** The X meeple display position of each section. */
+        private final int[] sectionMeepleX;
+        /** The Y meeple display position of each section. */
+        private final int[] sectionMeepleY;
+
+        /** The index of the farm or city section containing each part. */
+        private final byte[] partSections;
+        /**
+         * The index of the road section containing each road part, or -1 if there is
+         * no road there.
+         */
+        private final byte[] roadPartSections;
+
+        /** The edge signature of each side, numbered the same as road parts. */
+        private final int[] edges;
+
+        /**
+         * Gets the bitmask of parts of the section at the specified index.
+         *
+         * @param index The index of the section.
+         * @return The bitmask of parts of that section.
+         */
+        public int getSectionParts(int index) {
+            return this.sectionParts[index];
+        }
+
+        /**
+         * Gets the X meeple display position of the section at the specified index.
+         *
+         * @param index The index of the section.
+         * @return The X meeple display position of that section.
+         */
+        public int getSectionMeepleX(int index) {
+            return this.sectionMeepleX[index];
+        }
+
+        /**
+         * Gets the Y meeple display position of the section at the specified index.
+         *
+         * @param index The index of the section.
+         * @return The Y meeple display position of that section.
+         */
+        public int getSectionMeepleY(int index) {
+            return this.sectionMeepleY[index];
+        }
+
+        /**
+         * Gets the index of the farm or city section that contains a part.
+         *
+         * @param part The part to find the section of.
+         * @return The index of the section containing that part.
+         */
+        public int getPartSection(int part) {
+            return this.partSections[part];
+        }
+
+        /**
+         * Gets the index of the road section that contains a road part.
+         *
+         * @param part The road part to find the section of.
+         * @return The index of the section containing that road part, or -1 if there
+         *         is no road there.
+         */
+        public int getRoadPartSection(int part) {
+            return this.roadPartSections[part];
+        }
+
+        /**
+         * Gets the edge signature of a side, which is the type of the first part on
+         * that side, the type of the second part shifted left by two, and a bit set
+         * at 0x10 if there is a road.
+         *
+         * @param side The side to get the edge of, numbered the same as road parts.
+         * @return The edge signature of that side, which is never zero.
+         */
+        public int getEdge(int side) {
+            return this.edges[side];
+        }
+
+        /**
+         * Creates a copy of this layout rotated 90 degrees clockwise.
+         *
+         * @param sectionColors The color of each section, for finding their types.
+         * @return The rotated layout.
+         */
+        private Layout rotate(int[] sectionColors) {
+            int numSections = sectionColors.length;
+            int[] rotatedParts = new int[numSections];
+            int[] rotatedMeepleX = new int[numSections];
+            int[] rotatedMeepleY = new int[numSections];
+
+            for (int i = 0; i < numSections; i++) {
+                // Rotate the meeple positions 90 degrees clockwise around the tile.
+                rotatedMeepleX[i] = Tile.SIZE - this.sectionMeepleY[i];
+                rotatedMeepleY[i] = this.sectionMeepleX[i];
+
+                // Increasing the parts rotates them clockwise on the tile, which is a
+                // left rotation of the bitmask, wrapping the highest parts back around
+                // to zero. Cloister sections have no parts, so they are unaffected.
+                int parts = this.sectionParts[i];
+                if (Section.getColorType(sectionColors[i]) == Tile.TYPE_ROAD) {
+                    // There are four roads, and each side has only one road.
+                    rotatedParts[i] = ((parts << 1) | (parts >>> 3)) & 0xF;
+                } else {
+                    // There are eight farms/cities, and each side has two of them.
+                    rotatedParts[i] = ((parts << 2) | (parts >>> 6)) & 0xFF;
+                }
+            }
+
+            return new Layout(sectionColors, rotatedParts,
+                    rotatedMeepleX, rotatedMeepleY);
+        }
+
+        /**
+         * Creates a new layout from the parts and meeple positions of each section,
+         * building the part to section tables from them.
+         *
+         * @param sectionColors  The color of each section, for finding their types.
+         * @param sectionParts   The bitmask of parts of each section.
+         * @param sectionMeepleX The X meeple display position of each section.
+         * @param sectionMeepleY The Y meeple display position of each section.
+         */
+        private Layout(int[] sectionColors, int[] sectionParts,
+                       int[] sectionMeepleX, int[] sectionMeepleY) {
+            this.sectionParts = sectionParts;
+            this.sectionMeepleX = sectionMeepleX;
+            this.sectionMeepleY = sectionMeepleY;
+
+            this.partSections = new byte[8];
+            this.roadPartSections = new byte[4];
+            Arrays.fill(this.roadPartSections, (byte)-1);
+
+            for (int i = 0; i < sectionParts.length; i++) {
+                int type = Section.getColorType(sectionColors[i]);
+                byte[] table = (type == Tile.TYPE_ROAD) ?
+                        this.roadPartSections : this.partSections;
+
+                for (int parts = sectionParts[i]; parts != 0; parts &= parts - 1) {
+                    table[Integer.numberOfTrailingZeros(parts)] = (byte)i;
+                }
+            }
+
+            // Farm and city types fit in two bits, so the edges are never zero.
+            this.edges = new int[4];
+            for (int side = 0; side < 4; side++) {
+                int first = Section.getColorType(
+                        sectionColors[this.partSections[side * 2]]);
+                int second = Section.getColorType(
+                        sectionColors[this.partSections[side * 2 + 1]]);
+                int road = (this.roadPartSections[side] < 0) ? 0 : 0x10;
+
+                this.edges[side] = first | (second << 2) | road;
+            }
+        }
+    }
+
+    /**
+     * Holds the table for getFittingTiles(). It is built from every definition the
+     * first time it is used, and class initialization makes it safe to read from any
+     * thread afterwards without locking.
+     */
+    private static final class FittingTiles {
+        /**
+         * The bitmask of tile IDs whose edge on some side is some edge signature at
+         * some rotation, indexed by (side * 2^EDGE_BITS + edge) * 4 + quarter turns.
+         */
+        static final int[] TABLE = new int[(4 << EDGE_BITS) * 4];
+
+        static {
+            for (int index = 0; index < Deck.NUM_IDS; index++) {
+                TileDefinition definition = get((char)('A' + index));
+
+                for (int turns = 0; turns < 4; turns++) {
+                    for (int side = 0; side < 4; side++) {
+                        int edge = definition.layouts[turns].getEdge(side);
+                        TABLE[(((side << EDGE_BITS) + edge) << 2) + turns] |= 1 << index;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads every tile definition from the tile specification resource into the
+     * registry in a single sequential read. Must be called with the registry lock held.
+     */
+    private static void loadAll() {
+        InputStream resource = TileDefinition.class.getResourceAsStream(SPEC_RESOURCE);
+        if (resource == null) {
+            throw new IllegalStateException("Missing tile specification " + SPEC_RESOURCE);
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(resource))) {
+            if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION) {
+                throw new IllegalStateException("Unsupported tile specification format");
+            }
+
+            int numTiles = in.readUnsignedByte();
+            for (int i = 0; i < numTiles; i++) {
+                TileDefinition definition = new TileDefinition(in);
+                definitions.put(definition.id, definition);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read tile specification", e);
+        }
+    }
+}
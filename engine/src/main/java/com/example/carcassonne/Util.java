@@ -343,4 +343,25 @@ public final class Util {
     public static double[] copyArray(double[] src) {
         return Arrays.copyOf(src, src.length);
     }
+
+    /**
+     * Adds a value to the end of an array if it is not already in it. The array must
+     * have room for one more value. For the handful of values this is used for, a
+     * linear scan is faster than a set and never boxes or allocates.
+     *
+     * @param values    The array to add the value to.
+     * @param numValues The number of values already in the array.
+     * @param value     The value to add.
+     * @return The new number of values in the array.
+     */
+    public static int addUnique(int[] values, int numValues, int value) {
+        for (int i = 0; i < numValues; i++) {
+            if (values[i] == value) {
+                return numValues;
+            }
+        }
+
+        values[numValues] = value;
+        return numValues + 1;
+    }
 }
@@ -0,0 +1,115 @@
+package com.example.carcassonne;
+
+/**
+ * Generates the random keys used to hash game states in the style of Zobrist hashing.
+ * Each piece of the state, like a tile of some ID and rotation at some position, has
+ * its own 64-bit key, and the hash of a state combines the keys of all its pieces, so
+ * it can be updated in constant time whenever a piece is added or removed. Equal
+ * states always have equal hashes, and different states almost never do, which makes
+ * the hashes suitable for transposition tables and detecting desyncs.
+ *
+ * Board positions are unbounded, so rather than storing tables of random keys, each
+ * key is made by scrambling the piece's description with the SplitMix64 finalizer. The
+ * keys are the same on every machine and every run.
+ *
+ * @author Sophie Arcangel
+ * @author DJ Backus
+ * @author Alex Martinez-Lopez
+ * @author Vincent Robinson
+ * @author Cheyanne Yim
+ */
+public class Zobrist {
+    /*
+     * Arbitrary constants that make keys of different kinds of pieces unrelated, even
+     * if the pieces are described by the same numbers.
+     */
+    private static final long TILE_SALT = 0x6A09E667F3BCC908L;
+    private static final long MEEPLE_SALT = 0xBB67AE8584CAA73BL;
+    private static final long CURRENT_TILE_SALT = 0x3C6EF372FE94F82BL;
+    private static final long DECK_SALT = 0xA54FF53A5F1D36F1L;
+    private static final long PLAYER_SALT = 0x510E527FADE682D1L;
+
+    /**
+     * Scrambles the bits of a value with the SplitMix64 finalizer, so that every bit
+     * of the result depends on every bit of the value.
+     *
+     * @param value The value to scramble.
+     * @return The scrambled value.
+     */
+    public static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Gets the key of a confirmed tile on the board.
+     *
+     * @param x        The X position of the tile.
+     * @param y        The Y position of the tile.
+     * @param id       The ID of the tile.
+     * @param rotation The rotation of the tile in degrees.
+     * @return The key of the tile.
+     */
+    public static long getTileKey(int x, int y, char id, int rotation) {
+        return mix(getPositionKey(x, y) ^ TILE_SALT ^ (id << 2) ^ (rotation / 90));
+    }
+
+    /**
+     * Gets the key of a meeple on a confirmed tile on the board.
+     *
+     * @param x            The X position of the tile.
+     * @param y            The Y position of the tile.
+     * @param sectionIndex The index of the meeple's section in the tile's definition.
+     * @param owner        The player who owns the meeple.
+     * @return The key of the meeple.
+     */
+    public static long getMeepleKey(int x, int y, int sectionIndex, int owner) {
+        return mix(getPositionKey(x, y) ^ MEEPLE_SALT ^ (sectionIndex << 3) ^ owner);
+    }
+
+    /**
+     * Gets the key of the tile currently being placed. Its position and rotation are
+     * not part of the key, since they change freely until the tile is confirmed.
+     *
+     * @param id The ID of the tile.
+     * @return The key of the current tile.
+     */
+    public static long getCurrentTileKey(char id) {
+        return mix(CURRENT_TILE_SALT ^ id);
+    }
+
+    /**
+     * Gets the key of a tile in the deck. The deck is an unordered collection that may
+     * have several tiles of the same ID, so the hash of the deck is the sum of the keys
+     * of its tiles rather than their XOR, which would cancel out pairs.
+     *
+     * @param id The ID of the tile.
+     * @return The key of the tile in the deck.
+     */
+    public static long getDeckKey(char id) {
+        return mix(DECK_SALT ^ id);
+    }
+
+    /**
+     * Gets the key of the player whose turn it is.
+     *
+     * @param player The index of the player.
+     * @return The key of the current player.
+     */
+    public static long getPlayerKey(int player) {
+        return mix(PLAYER_SALT ^ player);
+    }
+
+    /**
+     * Scrambles a board position into a value that keys of pieces at that position
+     * are built from.
+     *
+     * @param x The X position.
+     * @param y The Y position.
+     * @return The scrambled position.
+     */
+    private static long getPositionKey(int x, int y) {
+        return mix(((long)x << 32) | (y & 0xFFFFFFFFL));
+    }
+}
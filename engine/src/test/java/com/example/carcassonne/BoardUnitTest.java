@@ -0,0 +1,304 @@
+package com.example.carcassonne;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests everything relating to the Board class
+ */
+@RunWith(JUnit4.class)
+public class BoardUnitTest {
+    /** Tests the default constructor for Board and ensures that it behaves as expected. */
+    @Test
+    public void testConstructor() {
+        Tile startingTile = new Deck().drawStartingTile();
+        Board board = new Board(startingTile);
+
+        // The board should be 3x3.
+        assertSame(3, board.getWidth());
+        assertSame(3, board.getHeight());
+
+        // Make sure only the middle position is occupied by the given tile; the rest
+        // should be null.
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                if (x == 1 && y == 1) {
+                    assertSame(startingTile, board.getTile(1, 1));
+                    assertSame(startingTile, board.getConfirmedTile(1, 1));
+                } else {
+                    assertSame(null, board.getTile(x, y));
+                    assertSame(null, board.getConfirmedTile(x, y));
+                }
+            }
+        }
+
+        // There should be no current tile on board creation.
+        assertSame(null, board.getCurrentTile());
+    }
+
+    /**
+     * Test the copy constructor for Board; it should make an exact copy that shares
+     * the confirmed tiles, but not the current tile, and is unaffected by later changes
+     * to the original.
+     */
+    @Test
+    public void testCopyConstructor() {
+        Deck deck = new Deck();
+        Tile startingTile = deck.drawStartingTile();
+        Tile drawn = deck.drawTile(0);
+
+        // Create a board and give it a current tile.
+        Board orig = new Board(startingTile);
+        orig.setCurrentTile(drawn);
+        drawn.setPosition(1, 2);
+
+        // Copy the board and ensure that everything is the same, but the reference to
+        // the current tile has changed.
+        Board copy = new Board(orig);
+
+        // Width and height should be identical.
+        assertSame(3, copy.getWidth());
+        assertSame(3, copy.getHeight());
+
+        // Confirmed tiles are never modified, so they should be shared.
+        assertNotSame(null, copy.getConfirmedTile(1, 1));
+        assertSame(orig.getConfirmedTile(1, 1), copy.getConfirmedTile(1, 1));
+
+        assertNotSame(null, copy.getTile(1, 2));
+        assertNotSame(orig.getTile(1, 2), copy.getTile(1, 2));
+
+        assertNotSame(null, copy.getCurrentTile());
+        assertNotSame(orig.getCurrentTile(), copy.getCurrentTile());
+
+        // All other positions should still be null.
+        for (int x = 0; x < copy.getWidth(); x++) {
+            for (int y = 0; y < copy.getHeight(); y++) {
+                if (orig.getTile(x, y) == null) {
+                    assertSame(null, copy.getTile(x, y));
+                }
+            }
+        }
+
+        // Adding a tile to the original should not add it to the copy.
+        orig.setTileDirectly(1, 0, new Tile('A'));
+        assertEquals(2, orig.getNumTiles());
+        assertEquals(1, copy.getNumTiles());
+        assertSame(null, copy.getConfirmedTile(1, 0));
+        assertTrue(copy.isOnFrontier(1, 0));
+        assertFalse(orig.isOnFrontier(1, 0));
+    }
+
+    /**
+     * Test all functions relating to the current tile, namely:
+     * - setCurrentTile()
+     * - setCurrentTilePosition()
+     * - resetCurrentTilePosition()
+     * - getCurrentTile()
+     * - getTile() vs getConfirmedTile()
+     */
+    @Test
+    public void testCurrentTile() {
+        Deck deck = new Deck();
+        Board board = new Board(deck.drawStartingTile());
+
+        // Set the current tile. It should be set, but have no position.
+        Tile drawn = deck.drawTile(0);
+        board.setCurrentTile(drawn);
+
+        assertSame(drawn, board.getCurrentTile());
+        assertFalse(drawn.hasPosition());
+
+        // Neither getTile() nor getConfirmedTile() should return the tile anywhere.
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                assertNotSame(drawn, board.getTile(x, y));
+                assertNotSame(drawn, board.getConfirmedTile(x, y));
+            }
+        }
+
+        // Set an absolute position for the tile.
+        board.getCurrentTile().setPosition(2, 1);
+        assertSame(drawn, board.getCurrentTile());
+        assertSame(2, board.getCurrentTile().getX());
+        assertSame(1, board.getCurrentTile().getY());
+
+        // The board should not have resized yet.
+        assertSame(3, board.getWidth());
+        assertSame(3, board.getHeight());
+
+        // Make sure getTile() returns the tile, but not getConfirmedTile().
+        assertSame(drawn, board.getTile(2, 1));
+        assertSame(null, board.getConfirmedTile(2, 1));
+    }
+
+    /**
+     * Test that the frontier always contains exactly the empty positions with an
+     * adjacent confirmed tile as tiles are confirmed and the board grows, and that
+     * confirmed tiles never change position when it does.
+     */
+    @Test
+    public void testFrontier() {
+        Deck deck = new Deck();
+        Tile startingTile = deck.drawStartingTile();
+        Board board = new Board(startingTile);
+
+        // The starting tile should have all four of its neighbors on the frontier.
+        assertEquals(4, board.getFrontierSize());
+
+        for (int i = 0; i < 10; i++) {
+            // Place the next tile at its first valid placement.
+            Tile drawn = deck.drawTile(0);
+            board.setCurrentTile(drawn);
+
+            ArrayList<Board.TilePlacement> placements = board.getValidTilePlacements();
+            assertEquals(!placements.isEmpty(), board.hasValidTilePlacement());
+            if (placements.isEmpty()) {
+                continue;
+            }
+
+            Board.TilePlacement placement = placements.get(0);
+            drawn.setPosition(placement.x, placement.y);
+            drawn.setRotation(placement.rotation);
+            board.confirmCurrentTile();
+
+            // Growing the board must not move any tiles.
+            assertSame(startingTile, board.getConfirmedTile(1, 1));
+            assertSame(drawn, board.getConfirmedTile(placement.x, placement.y));
+
+            // Compare the frontier to every position on the board.
+            int minX = board.getMinX();
+            int minY = board.getMinY();
+            int numFrontier = 0;
+
+            for (int x = minX; x < minX + board.getWidth(); x++) {
+                for (int y = minY; y < minY + board.getHeight(); y++) {
+                    boolean expected = board.getConfirmedTile(x, y) == null &&
+                            board.hasAdjacentTile(x, y);
+                    assertEquals(expected, board.isOnFrontier(x, y));
+
+                    if (expected) {
+                        numFrontier++;
+                    }
+
+                    // The lookup table must agree with each tile's own rotations.
+                    int fitting = 0;
+                    for (int id = 0; expected && id < Deck.NUM_IDS; id++) {
+                        TileDefinition definition = TileDefinition.get((char)('A' + id));
+                        if (definition.getFittingRotations(
+                                board.getConstraint(x, y)) != 0) {
+                            fitting |= 1 << id;
+                        }
+                    }
+                    assertEquals(fitting, board.getFittingTiles(x, y));
+                }
+            }
+            assertEquals(numFrontier, board.getFrontierSize());
+        }
+    }
+
+    /**
+     * Test that the feature graph agrees with the full meeple analysis for every city
+     * and road on the board as tiles with meeples are confirmed.
+     */
+    @Test
+    public void testFeatures() {
+        Deck deck = new Deck();
+        Board board = new Board(deck.drawStartingTile());
+
+        for (int i = 0; i < 30; i++) {
+            Tile drawn = deck.drawTile(i % 2);
+            board.setCurrentTile(drawn);
+
+            // Place the tile at its first valid placement with a meeple if possible.
+            ArrayList<Board.TilePlacement> placements = board.getValidMeeplePlacements();
+            if (placements.isEmpty()) {
+                placements = board.getValidTilePlacements();
+            }
+            if (placements.isEmpty()) {
+                continue;
+            }
+
+            Board.TilePlacement placement = placements.get(0);
+            drawn.setPosition(placement.x, placement.y);
+            drawn.setRotation(placement.rotation);
+            drawn.setMeepleSection(placement.meepleSection);
+            board.confirmCurrentTile();
+
+            // Check every city and road section on the board.
+            int minX = board.getMinX();
+            int minY = board.getMinY();
+
+            for (int x = minX; x < minX + board.getWidth(); x++) {
+                for (int y = minY; y < minY + board.getHeight(); y++) {
+                    Tile tile = board.getConfirmedTile(x, y);
+                    if (tile == null) {
+                        continue;
+                    }
+
+                    for (Section section : tile.getSections()) {
+                        int type = section.getType();
+                        if (type == Tile.TYPE_CITY || type == Tile.TYPE_ROAD) {
+                            assertTrue(board.isFeatureConsistent(section));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that visiting placements finds the same placements as listing them without
+     * touching the current tile, and that visitors can stop early.
+     */
+    @Test
+    public void testVisitPlacements() {
+        Deck deck = new Deck();
+        Board board = new Board(deck.drawStartingTile());
+
+        Tile drawn = deck.drawTile(0);
+        board.setCurrentTile(drawn);
+        int rotation = drawn.getRotation();
+
+        MoveList moves = new MoveList();
+        board.getValidMeeplePlacements(moves);
+        ArrayList<Board.TilePlacement> placements = board.getValidMeeplePlacements();
+        assertEquals(placements.size(), moves.size());
+
+        // Every visited placement should match the listed one in the same order and
+        // be valid, and the current tile should never be touched.
+        int[] numVisited = new int[1];
+        assertFalse(board.visitValidMeeplePlacements((move) -> {
+            Board.TilePlacement placement = placements.get(numVisited[0]++);
+
+            assertEquals(placement.x, MoveList.getX(move));
+            assertEquals(placement.y, MoveList.getY(move));
+            assertEquals(placement.rotation, MoveList.getRotation(move));
+            assertSame(placement.meepleSection,
+                    drawn.getSectionFromIndex(MoveList.getSectionIndex(move)));
+            assertTrue(board.isPlacementValid(drawn, move));
+
+            assertFalse(drawn.hasPosition());
+            assertEquals(rotation, drawn.getRotation());
+            return true;
+        }));
+        assertEquals(placements.size(), numVisited[0]);
+
+        // Stopping after the first placement should only visit that one.
+        numVisited[0] = 0;
+        assertTrue(board.visitValidTilePlacements((move) -> {
+            numVisited[0]++;
+            return false;
+        }));
+        assertEquals(1, numVisited[0]);
+
+        // Visiting placements never moves or rotates the current tile.
+        assertFalse(drawn.hasPosition());
+        assertEquals(rotation, drawn.getRotation());
+        assertNull(drawn.getMeepleSection());
+    }
+}
@@ -0,0 +1,407 @@
+package com.example.carcassonne;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the game state and its actions, run on the JVM against the engine module.
+ */
+@RunWith(JUnit4.class)
+public class CarcassonneGameStateTest extends TestCase {
+    CarcassonneGameState gameState;
+
+    @Before
+    public void beforeRun() {
+
+        gameState = new CarcassonneGameState(2);
+
+      /* Tile firstTile = new Tile('A');
+        gameState.getBoard().setTileDirectly(1,1,firstTile);
+
+        Tile secondTile = new Tile('A');
+        secondTile.setRotation(270);
+        gameState.getBoard().setTileDirectly(2,1,secondTile);
+        secondTile.setMeepleSection(secondTile.getSectionFromPosition(Tile.SIZE / 2, Tile.SIZE / 2));
+
+        Tile thirdTile = new Tile('K');
+        gameState.getBoard().setTileDirectly(1,2, thirdTile);
+
+        Tile fourthTile = new Tile('T');
+        fourthTile.setRotation(90);
+        gameState.getBoard().setTileDirectly(3,1, fourthTile);
+        fourthTile.setMeepleSection(fourthTile.getRoadSection(3));
+
+        Tile fifthTile = new Tile('E');
+        fifthTile.setRotation(270);
+        gameState.getBoard().setTileDirectly(2,2,fifthTile);
+        fifthTile.setMeepleSection(fifthTile.getSection(6));
+
+        Tile sixthTile = new Tile('E');
+        gameState.getBoard().setTileDirectly(3,2,sixthTile);
+        sixthTile.setMeepleSection(sixthTile.getSection(5));
+
+        Tile seventhTile = new Tile('E');
+        seventhTile.setRotation(180);
+        gameState.getBoard().setTileDirectly(3,1, seventhTile);
+        seventhTile.setMeepleSection(seventhTile.getSection(5));
+
+        Tile eighthTile = new Tile('E');
+        gameState.getBoard().setTileDirectly(2,1, eighthTile);
+
+        Tile ninthTile = new Tile('E');
+        gameState.getBoard().setTileDirectly(1,1, ninthTile);
+        */
+
+    }
+
+
+    @Test
+    public void testTurnActions() {
+
+        //Tile testTile = gameState.getBoard().getCurrentTile();
+        Board.TilePlacement validPlacement = gameState.getBoard().getValidTilePlacements().get(0);
+        assertFalse(gameState.rotateTile(360));
+        assertFalse(gameState.rotateTile(-90));
+        assertFalse(gameState.rotateTile(45));
+        assertTrue(gameState.rotateTile(validPlacement.rotation));
+
+        assertTrue(gameState.placeTile(validPlacement.x, validPlacement.y));
+
+        assertTrue(gameState.confirmTile());
+
+        Section validMeeplePlacement = gameState.getBoard().getValidMeeplePlacements().get(0).meepleSection;
+
+        assertTrue(gameState.placeMeeple(validMeeplePlacement));
+
+        assertTrue(gameState.confirmMeeple());
+
+
+        /*
+                this.textBox.clearComposingText();
+
+        //Creating instances
+        CarcassonneGameState firstInstance = new CarcassonneGameState(4);
+        CarcassonneGameState firstCopy = new CarcassonneGameState(firstInstance);
+
+        //Calls all actions
+        firstInstance.placeTile(1, 2, 1);
+        this.textBox.append("Player 1 placed the tile at (2, 1)\n");
+
+        firstInstance.rotateTile(1);
+        this.textBox.append("Player 1 rotated the current tile\n");
+
+        firstInstance.confirmTile(1);
+        this.textBox.append("Player 1 confirmed the current tile placement\n");
+
+        firstInstance.placeMeeple(1, 50, 50);
+        this.textBox.append("Player 1 placed a meeple\n");
+
+        firstInstance.confirmMeeple(1);
+        this.textBox.append("Player 1 confirmed meeple placement\n");
+
+        firstInstance.placeTile(2, 2, 2);
+        this.textBox.append("Player 2 placed the tile at (2, 2)\n");
+
+        firstInstance.confirmTile(2);
+        this.textBox.append("Player 2 confirmed the current tile\n");
+
+        firstInstance.resetTurn(2);
+        this.textBox.append("Player 2 reset turn\n");
+
+        firstInstance.confirmTile(2);
+        this.textBox.append("Player 2 confirmed the current tile\n");
+
+        firstInstance.confirmMeeple(2);
+        this.textBox.append("Player 2 confirmed meeple placement\n");
+
+        firstInstance.quitGame(3);
+        this.textBox.append("Player 3 quit the game.\n");
+
+        CarcassonneGameState secondInstance = new CarcassonneGameState(4);
+        CarcassonneGameState secondCopy = new CarcassonneGameState(secondInstance);
+
+        //Verify the copies are the same
+        this.textBox.append("\n Is first copy equal to second copy?\n");
+        this.textBox.append(" " + secondInstance.toString().equals(secondCopy.toString()));
+
+        //Print all information to screen
+        this.textBox.append("firstCopy: " + firstCopy.toString());
+        this.textBox.append("secondCopy: " + secondCopy.toString());
+         */
+    }
+
+    @Test
+    public void testApplyAndUndoMoves() {
+        ArrayList<String> states = new ArrayList<>();
+        ArrayList<Long> hashes = new ArrayList<>();
+        MoveList moves = new MoveList();
+
+        // Play the whole game with the last valid move each turn, remembering every
+        // state along the way. Meeples are placed whenever possible.
+        while (!gameState.isGameOver()) {
+            states.add(gameState.toString());
+            hashes.add(gameState.getHash());
+
+            // A copy of the state must hash the same as the original.
+            CarcassonneGameState copy = new CarcassonneGameState(gameState);
+            assertEquals(gameState.getHash(), copy.getHash());
+
+            moves.clear();
+            if (gameState.getPlayerMeeples(gameState.getCurrentPlayer()) > 0) {
+                gameState.getBoard().getValidMeeplePlacements(moves);
+            }
+            if (moves.isEmpty()) {
+                gameState.getBoard().getValidTilePlacements(moves);
+            }
+
+            assertTrue(gameState.applyMove(moves.get(moves.size() - 1)));
+            assertNotEquals(hashes.get(hashes.size() - 1).longValue(),
+                    gameState.getHash());
+        }
+
+        // Moves can't be applied once the game is over.
+        assertFalse(gameState.applyMove(moves.get(0)));
+
+        // Undoing each move must give back exactly the state and hash from before it.
+        for (int i = states.size() - 1; i >= 0; i--) {
+            assertTrue(gameState.undoMove());
+            assertEquals(states.get(i), gameState.toString());
+            assertEquals((long)hashes.get(i), gameState.getHash());
+        }
+
+        assertFalse(gameState.undoMove());
+
+        // The game must still be playable normally afterwards.
+        gameState.getBoard().getValidMeeplePlacements(moves);
+        assertTrue(gameState.applyMove(moves.get(0)));
+    }
+
+    @Test
+    public void testSeededGames() {
+        CarcassonneGameState first = new CarcassonneGameState(3, 42);
+        CarcassonneGameState second = new CarcassonneGameState(3, 42);
+        assertEquals(first.getHash(), second.getHash());
+
+        // Play the first game to the end, remembering the moves.
+        MoveList moves = new MoveList();
+        MoveList played = new MoveList();
+        while (!first.isGameOver()) {
+            first.getBoard().getValidTilePlacements(moves);
+            played.add(moves.get(moves.size() / 2));
+            assertTrue(first.applyMove(played.get(played.size() - 1)));
+        }
+        long finalHash = first.getHash();
+
+        // The same moves must give the same game with the same seed, even after
+        // rewinding the first game all the way back.
+        for (int i = 0; i < played.size(); i++) {
+            assertTrue(second.applyMove(played.get(i)));
+        }
+        assertEquals(finalHash, second.getHash());
+
+        while (first.undoMove()) {
+        }
+        for (int i = 0; i < played.size(); i++) {
+            assertTrue(first.applyMove(played.get(i)));
+        }
+        assertEquals(finalHash, first.getHash());
+    }
+
+    @Test
+    public void testCopiesAreIndependent() {
+        ArrayList<CarcassonneGameState> copies = new ArrayList<>();
+        ArrayList<Long> hashes = new ArrayList<>();
+        ArrayList<ArrayList<Integer>> features = new ArrayList<>();
+
+        // Play a game with the normal actions, placing meeples whenever possible so
+        // that some get returned, and copy the state every turn.
+        while (!gameState.isGameOver()) {
+            copies.add(new CarcassonneGameState(gameState));
+            hashes.add(gameState.getHash());
+            features.add(describeFeatures(gameState.getBoard().getFeatures()));
+
+            ArrayList<Board.TilePlacement> placements =
+                    gameState.getBoard().getValidMeeplePlacements();
+            if (placements.isEmpty() ||
+                    gameState.getPlayerMeeples(gameState.getCurrentPlayer()) == 0) {
+                placements = gameState.getBoard().getValidTilePlacements();
+            }
+            Board.TilePlacement placement = placements.get(0);
+
+            assertTrue(gameState.rotateTile(placement.rotation));
+            assertTrue(gameState.placeTile(placement.x, placement.y));
+            assertTrue(gameState.confirmTile());
+            assertTrue(gameState.placeMeeple(placement.meepleSection));
+            assertTrue(gameState.confirmMeeple());
+        }
+
+        // The copies share tiles and parts of the feature graph with the original, but
+        // none of them may have been changed by the rest of the game.
+        for (int i = 0; i < copies.size(); i++) {
+            assertEquals((long)hashes.get(i), copies.get(i).getHash());
+            assertEquals(features.get(i),
+                    describeFeatures(copies.get(i).getBoard().getFeatures()));
+        }
+    }
+
+    /**
+     * Lists everything the feature graph tracks about the feature of each node, so
+     * that two graphs can be compared.
+     */
+    private static ArrayList<Integer> describeFeatures(FeatureGraph graph) {
+        ArrayList<Integer> description = new ArrayList<>();
+
+        for (int node = 0; node < graph.getNumNodes(); node++) {
+            int feature = graph.findFeature(graph.getSection(node));
+
+            description.add(feature);
+            description.add(graph.getNextMember(node));
+            description.add(graph.getNumSections(feature));
+            description.add(graph.getOpenEdges(feature));
+            description.add(graph.getNumTiles(feature));
+            description.add(graph.getNumPennants(feature));
+            for (int i = 0; i < CarcassonneGameState.MAX_PLAYERS; i++) {
+                description.add(graph.getNumMeeples(feature, i));
+            }
+
+            if (graph.getType(feature) != Tile.TYPE_ROAD) {
+                description.addAll(graph.getBorderingFeatures(feature));
+            }
+        }
+        return description;
+    }
+
+    @Test
+    public void testEventsKeepCopiesInSync() {
+        CarcassonneGameState replica = new CarcassonneGameState(gameState);
+
+        // Play a game with the normal actions, sending the replica the events for
+        // each one, and resetting the turn once in a while.
+        while (!gameState.isGameOver()) {
+            ArrayList<Board.TilePlacement> placements =
+                    gameState.getBoard().getValidMeeplePlacements();
+            if (placements.isEmpty() ||
+                    gameState.getPlayerMeeples(gameState.getCurrentPlayer()) == 0) {
+                placements = gameState.getBoard().getValidTilePlacements();
+            }
+            Board.TilePlacement placement = placements.get(placements.size() - 1);
+
+            assertTrue(gameState.rotateTile(placement.rotation));
+            assertTrue(replica.applyEvent(GameEvent.tileRotated(placement.rotation)));
+            assertTrue(gameState.placeTile(placement.x, placement.y));
+            assertTrue(replica.applyEvent(GameEvent.tileMoved(placement.x, placement.y)));
+            assertTrue(gameState.confirmTile());
+            assertTrue(replica.applyEvent(GameEvent.tileConfirmed()));
+
+            if (gameState.getBoard().getNumTiles() % 5 == 0) {
+                assertTrue(gameState.resetTurn());
+                assertTrue(replica.applyEvent(GameEvent.turnReset()));
+                assertTrue(gameState.confirmTile());
+                assertTrue(replica.applyEvent(GameEvent.tileConfirmed()));
+            }
+
+            assertTrue(gameState.placeMeeple(placement.meepleSection));
+            Tile tile = gameState.getBoard().getCurrentTile();
+            assertTrue(replica.applyEvent(GameEvent.meeplePlaced(tile)));
+            assertEquals(gameState.getHash(), replica.getHash());
+
+            assertTrue(gameState.confirmMeeple());
+            assertTrue(replica.applyEvent(GameEvent.scoresChanged(gameState)));
+            if (!gameState.isGameOver()) {
+                assertTrue(replica.applyEvent(GameEvent.turnStarted(gameState)));
+            }
+            assertEquals(gameState.getHash(), replica.getHash());
+        }
+
+        // Nothing can be applied once the game is over.
+        assertFalse(replica.applyEvent(GameEvent.tileConfirmed()));
+    }
+
+    @Test
+    public void testLockstepFromSeed() {
+        CarcassonneGameState host = new CarcassonneGameState(3, 7);
+        CarcassonneGameState client = new CarcassonneGameState(3, host.getSeed());
+
+        // The client only gets the actions and a hash at the end of each turn, and
+        // must still end up with the same game. Place meeples whenever possible so
+        // that features get scored and meeples returned along the way.
+        MoveList moves = new MoveList();
+        int numMeeplesPlaced = 0;
+        while (!host.isGameOver()) {
+            host.getBoard().getValidMeeplePlacements(moves);
+            if (moves.size() == 0 ||
+                    host.getPlayerMeeples(host.getCurrentPlayer()) == 0) {
+                host.getBoard().getValidTilePlacements(moves);
+            }
+            long move = moves.get(moves.size() / 3);
+
+            int rotation = MoveList.getRotation(move);
+            assertTrue(host.rotateTile(rotation));
+            assertTrue(client.applyEvent(GameEvent.tileRotated(rotation)));
+            assertTrue(host.placeTile(MoveList.getX(move), MoveList.getY(move)));
+            assertTrue(client.applyEvent(
+                    GameEvent.tileMoved(MoveList.getX(move), MoveList.getY(move))));
+            assertTrue(host.confirmTile());
+            assertTrue(client.applyEvent(GameEvent.tileConfirmed()));
+
+            Tile tile = host.getBoard().getCurrentTile();
+            int sectionIndex = MoveList.getSectionIndex(move);
+            if (sectionIndex != MoveList.NO_SECTION) {
+                assertTrue(host.placeMeeple(tile.getSectionFromIndex(sectionIndex)));
+                assertTrue(client.applyEvent(GameEvent.meeplePlaced(tile)));
+                numMeeplesPlaced++;
+            }
+
+            assertTrue(host.confirmMeeple());
+            assertTrue(client.applyEvent(GameEvent.meepleConfirmed()));
+
+            assertTrue(client.applyEvent(GameEvent.stateHash(host)));
+            assertEquals(host.getHash(), client.getHash());
+        }
+        assertTrue(client.isGameOver());
+        assertTrue(numMeeplesPlaced > 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(host.getPlayerCompleteScore(i), client.getPlayerCompleteScore(i));
+            assertEquals(host.getPlayerMeeples(i), client.getPlayerMeeples(i));
+        }
+
+        // A game state with a different hash must be noticed.
+        assertFalse(client.applyEvent(
+                GameEvent.stateHash(new CarcassonneGameState(3, 7))));
+    }
+
+    @Test
+    public void testEventsDetectOutOfSync() {
+        CarcassonneGameState replica = new CarcassonneGameState(2, 1);
+        CarcassonneGameState other = new CarcassonneGameState(2, 3);
+
+        // A replica with a different seed drew a different tile, or was just given the
+        // wrong events, so it must notice. These seeds are known to start with
+        // different tiles.
+        Tile tile = replica.getBoard().getCurrentTile();
+        assertNotEquals(tile.getId(), other.getBoard().getCurrentTile().getId());
+        assertFalse(replica.applyEvent(GameEvent.turnStarted(other)));
+
+        // A game a turn ahead has a different current player, even with the same seed.
+        CarcassonneGameState ahead = new CarcassonneGameState(replica);
+        MoveList moves = new MoveList();
+        ahead.getBoard().getValidTilePlacements(moves);
+        assertTrue(ahead.applyMove(moves.get(0)));
+        assertFalse(replica.applyEvent(GameEvent.turnStarted(ahead)));
+
+        assertTrue(replica.applyEvent(GameEvent.turnStarted(replica)));
+
+        assertFalse(replica.applyEvent(GameEvent.meeplePlaced(tile)));
+        assertFalse(replica.applyEvent(GameEvent.scoresChanged(replica)));
+    }
+
+}
\ No newline at end of file